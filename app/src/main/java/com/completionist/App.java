@@ -1,29 +1,238 @@
 package com.completionist;
 
+import com.completionist.loadgen.LoadGenerator;
+import com.completionist.loadgen.ProfileGenerator;
+import com.completionist.metrics.Recordings;
+import com.completionist.metrics.StartupTrace;
 import com.completionist.model.*;
 import com.completionist.progress.*;
+import com.completionist.server.ApiServer;
 import com.completionist.storage.*;
 import com.completionist.ui.*;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.jline.terminal.Terminal;
+
 public class App {
 
     public static void main(String[] args) {
-        // set up storage and load the game
-        StorageService storage = new JsonStorageService();
-        Game smg = GameFactory.createSuperMarioGalaxy();
+        StartupTrace.begin();
+
+        // --jfr[=file] - flight recording of the whole session, written on exit
+        // --trace-startup - boot phases and time to first frame, printed on exit
+        // --bench / --loadgen / --serve - what to run instead of the ui
+        // (all of these can go anywhere in args)
+        boolean traceStartup = false;
+        String runMode = null;
+        for (String arg : args) {
+            if (arg.equals("--jfr") || arg.startsWith("--jfr=")) {
+                startRecording(arg);
+            } else if (arg.equals("--trace-startup")) {
+                traceStartup = true;
+            } else if (runMode == null && isRunMode(arg)) {
+                runMode = arg;
+            }
+        }
+
+        if (traceStartup) {
+            // a hook, since quitting from the profile picker exits right there
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> StartupTrace.report(System.err)));
+        }
+
+        if (runMode != null) {
+            switch (runMode) {
+                case "--bench" -> runBenchmark(args);
+                case "--loadgen" -> runLoadGenerator(args);
+                case "--serve" -> runServer(args);
+            }
+            return;
+        }
+
+        // boot - the catalog, the terminal and storage (jackson takes a while
+        // to load) don't depend on each other, so they're built side by side.
+        // the picker draws as soon as the terminal and the first page of
+        // profiles are ready, the catalog only has to be done after that
+        ExecutorService boot = Executors.newFixedThreadPool(3, task -> {
+            Thread thread = new Thread(task, "boot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Game> catalog = CompletableFuture.supplyAsync(
+            () -> StartupTrace.time("catalog", GameFactory::createSuperMarioGalaxy), boot);
+        CompletableFuture<Terminal> terminal = CompletableFuture.supplyAsync(
+            () -> StartupTrace.time("terminal", TerminalSession::openSystemTerminal), boot);
+        CompletableFuture<StorageService> storage = CompletableFuture.supplyAsync(
+            () -> StartupTrace.time("storage", JsonStorageService::new), boot);
+        CompletableFuture<ProfileSelector.FirstPage> firstPage = storage.thenApply(
+            s -> StartupTrace.time("profiles", () -> ProfileSelector.readFirstPage(s))); // right after, on storage's thread
+        boot.shutdown(); // threads go away once these are done
 
-        // pick a profile
-        ProfileSelector selector = new ProfileSelector(storage);
-        PlayerProfile player = selector.selectProfile();
+        // pick a profile - one terminal session for the picker and the ui
+        TerminalSession session = StartupTrace.time("session", () -> new TerminalSession(terminal.join()));
+        ProfileSelector selector = new ProfileSelector(storage.join(), session);
+        PlayerProfile player = selector.selectProfile(firstPage.join());
         selector.close();
 
         // start the ui and go!
-        ConsoleUI ui = new ConsoleUI(smg, player, storage);
+        ConsoleUI ui = new ConsoleUI(catalog.join(), player, storage.join(), session);
+        ui.saveOnShutdown();
         ui.start();
 
         System.out.println("\nGoodbye! Your progress has been saved.");
     }
 
+    private static boolean isRunMode(String arg) {
+        return arg.equals("--bench") || arg.equals("--loadgen") || arg.equals("--serve");
+    }
+
+    // flags main has dealt with already - the runners skip over these
+    private static boolean handledInMain(String arg) {
+        return arg.equals("--jfr") || arg.startsWith("--jfr=") || arg.equals("--trace-startup") || isRunMode(arg);
+    }
+
+    private static void startRecording(String arg) {
+        Path file = arg.startsWith("--jfr=") ? Path.of(arg.substring("--jfr=".length())) : Recordings.DEFAULT_FILE;
+        try {
+            Recordings.startContinuous(file);
+            System.err.println("Recording to " + file.toAbsolutePath() + " (written on exit)");
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Warning: Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    // --bench ["keys"] [--size 120x40] [--frames dir]
+    // runs the ui headless on a throwaway profile and prints per-frame bytes
+    // and render times - --frames also writes each frame out as text
+    private static void runBenchmark(String[] args) {
+        String script = HeadlessRun.DEFAULT_SCRIPT;
+        int columns = 120;
+        int rows = 40;
+        Path framesDir = null;
+        for (int i = 0; i < args.length; i++) {
+            if (handledInMain(args[i])) {
+                continue;
+            }
+            if (args[i].equals("--size") && i + 1 < args.length) {
+                String[] size = args[++i].split("x");
+                columns = Integer.parseInt(size[0]);
+                rows = Integer.parseInt(size[1]);
+            } else if (args[i].equals("--frames") && i + 1 < args.length) {
+                framesDir = Path.of(args[++i]);
+            } else {
+                script = args[i];
+            }
+        }
+
+        try {
+            StorageService storage = new JsonStorageService(Files.createTempDirectory("completionist-bench"));
+            Game smg = GameFactory.createSuperMarioGalaxy();
+            PlayerProfile player = new PlayerProfile("Bench");
+            List<HeadlessRun.Frame> frames = HeadlessRun.run(smg, player, storage, columns, rows, script);
+
+            HeadlessRun.report(frames, System.out);
+            if (framesDir != null) {
+                HeadlessRun.writeFrames(frames, framesDir);
+                System.out.println("frames written to " + framesDir);
+            }
+        } catch (IOException e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+
+    // the loadgen options that take a value
+    private static final List<String> LOADGEN_OPTIONS = List.of(
+        "--profiles", "--ops", "--threads", "--save-ratio", "--load-ratio", "--dir", "--seed");
+
+    // --loadgen [--profiles 1000] [--ops 100000] [--threads 4] [--save-ratio 0.1]
+    //           [--load-ratio 0.05] [--dir path] [--seed 42]
+    // writes a fleet of generated profiles, then replays toggle/save/load
+    // traffic against it and prints throughput and latency percentiles
+    // (a throwaway directory unless --dir is given)
+    private static void runLoadGenerator(String[] args) {
+        int profiles = 1000;
+        int operations = 100_000;
+        int threads = 4;
+        double saveRatio = 0.1;
+        double loadRatio = 0.05;
+        long seed = 42;
+        Path dir = null;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (handledInMain(option)) {
+                continue;
+            }
+            if (!LOADGEN_OPTIONS.contains(option)) {
+                System.err.println("Warning: Unknown loadgen option " + option);
+                continue;
+            }
+            if (i + 1 == args.length) {
+                System.err.println("Warning: No value for loadgen option " + option);
+                break;
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--profiles" -> profiles = Integer.parseInt(value);
+                case "--ops" -> operations = Integer.parseInt(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--save-ratio" -> saveRatio = Double.parseDouble(value);
+                case "--load-ratio" -> loadRatio = Double.parseDouble(value);
+                case "--dir" -> dir = Path.of(value);
+                case "--seed" -> seed = Long.parseLong(value);
+            }
+        }
+
+        try {
+            Game smg = GameFactory.createSuperMarioGalaxy();
+            StorageService storage = new JsonStorageService(dir != null ? dir : Files.createTempDirectory("completionist-load"));
+            List<PlayerProfile> fleet = new ProfileGenerator(smg, seed).generate(profiles);
+            LoadGenerator generator = new LoadGenerator(storage, smg);
+
+            generator.seed(fleet).print("seed", System.out);
+            generator.replay(fleet, operations, saveRatio, loadRatio, threads, seed).print("replay", System.out);
+        } catch (IOException e) {
+            System.err.println("Load generator failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --serve [--port 8080] [--host 127.0.0.1] [--dir path]
+    // no ui - profiles and progress as json for dashboards and scripts,
+    // until ctrl-c. localhost only unless --host says otherwise
+    private static void runServer(String[] args) {
+        String host = "127.0.0.1";
+        int port = 8080;
+        Path dir = null;
+        for (int i = 0; i + 1 < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--host" -> host = args[++i];
+                case "--dir" -> dir = Path.of(args[++i]);
+                default -> { } // --serve, --jfr and friends, handled in main
+            }
+        }
+
+        StorageService storage = dir != null ? new JsonStorageService(dir) : new JsonStorageService();
+        try {
+            ApiServer server = new ApiServer(GameFactory.createSuperMarioGalaxy(), storage, new InetSocketAddress(host, port));
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            System.out.println("Serving on http://" + host + ":" + server.getPort() + "/api/profiles (ctrl-c to stop)");
+            Thread.currentThread().join(); // the server's threads are daemons
+        } catch (IOException e) {
+            System.err.println("Could not start server: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // demo method to show off the progress tracking
     public static void runPhase2Demo() {
         System.out.println("=== The Completionist - Phase 2 Demo ===\n");
@@ -0,0 +1,176 @@
+package com.completionist.events;
+
+import com.completionist.model.Galaxy;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.ProgressListener;
+import com.completionist.progress.StarChange;
+import com.completionist.progress.StarProgress;
+import com.completionist.progress.UnlockSweep;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+// progress changes, per player, for anyone who wants them as they happen
+// publishing never waits: each subscriber has a bounded queue, and one that
+// falls too far behind is cut off (it can resubscribe from its last id)
+//
+// the last HISTORY events of each player are kept so a subscriber that
+// reconnects picks up where it left off. ids go up across all players and
+// start from the clock, so ids from before a restart are still older
+public class EventBus {
+    static final int HISTORY = 256;                // per player, for resuming
+    public static final int DEFAULT_CAPACITY = 256; // per subscriber
+
+    private final AtomicLong lastId = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+    // publish every star change this progress makes from now on
+    public void attach(String playerId, GameProgress progress) {
+        progress.addListener(new Publisher(playerId, progress));
+    }
+
+    // publish what the unlock logic opened up
+    public void publishUnlocks(String playerId, String starPrefix, List<UnlockSweep.Unlock> unlocks) {
+        for (UnlockSweep.Unlock unlock : unlocks) {
+            Galaxy galaxy = unlock.getGalaxy();
+            Star star = unlock.getStar();
+            String galaxyId = galaxy == null ? null : galaxy.getId();
+            String starId = star == null ? null : starPrefix + star.getId();
+            String type = switch (unlock.getKind()) {
+                case GALAXY -> "galaxy-unlocked";
+                case STAR -> "star-unlocked";
+                case LUIGI_MODE -> "luigi-unlocked";
+                case COMPLETE -> "completed";
+            };
+            topic(playerId).publish(id -> ProgressEvent.unlock(id, playerId, type, galaxyId, starId));
+        }
+    }
+
+    // everything for this player after lastEventId (0 = only new events),
+    // then whatever comes next. close() it when done
+    public Subscription subscribe(String playerId, long lastEventId, int capacity) {
+        return topic(playerId).subscribe(lastEventId, Math.max(capacity, HISTORY));
+    }
+
+    private Topic topic(String playerId) {
+        return topics.computeIfAbsent(playerId, id -> new Topic());
+    }
+
+    // one subscriber's view of a player's events
+    public static final class Subscription implements AutoCloseable {
+        private final Topic topic;
+        private final BlockingQueue<ProgressEvent> queue;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        private boolean missed; // asked to resume from before what we still have
+
+        Subscription(Topic topic, int capacity) {
+            this.topic = topic;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // next event, or null after the timeout (or once cut off - see isOverflowed)
+        public ProgressEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+            if (overflowed && queue.isEmpty()) {
+                return null;
+            }
+            return queue.poll(timeout, unit);
+        }
+
+        // fell behind and got cut off - what's queued is still good, then resubscribe
+        public boolean isOverflowed() {
+            return overflowed;
+        }
+
+        // some events between lastEventId and the first one here are gone for good
+        public boolean hasMissedEvents() {
+            return missed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            topic.subscribers.remove(this);
+        }
+
+        // called with the topic locked - never blocks
+        void offer(ProgressEvent event) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                overflowed = true;
+                topic.subscribers.remove(this);
+            }
+        }
+    }
+
+    // one player's recent events and who's listening
+    private final class Topic {
+        private final ArrayDeque<ProgressEvent> history = new ArrayDeque<>(HISTORY);
+        private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+        private long droppedUpTo; // newest id pushed out of the history
+
+        // the id is handed out under the lock, so a player's events are in id order
+        synchronized void publish(LongFunction<ProgressEvent> make) {
+            ProgressEvent event = make.apply(lastId.incrementAndGet());
+            if (history.size() == HISTORY) {
+                droppedUpTo = history.removeFirst().getId();
+            }
+            history.addLast(event);
+            for (Subscription subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        // replay and going live happen under the same lock, so nothing is
+        // seen twice or slips in between
+        synchronized Subscription subscribe(long lastEventId, int capacity) {
+            Subscription subscription = new Subscription(this, capacity);
+            if (lastEventId > 0) {
+                subscription.missed = lastEventId < droppedUpTo;
+                for (ProgressEvent event : history) {
+                    if (event.getId() > lastEventId) {
+                        subscription.offer(event);
+                    }
+                }
+            }
+            subscribers.add(subscription);
+            return subscription;
+        }
+    }
+
+    // turns one progress's star changes into events
+    private final class Publisher implements ProgressListener {
+        private final String playerId;
+        private final GameProgress progress;
+
+        Publisher(String playerId, GameProgress progress) {
+            this.playerId = playerId;
+            this.progress = progress;
+        }
+
+        @Override
+        public void starChanged(String starId) {
+            // only the kind-aware form is used
+        }
+
+        @Override
+        public void starChanged(String starId, StarChange change) {
+            StarProgress star = progress.getAllStarProgress().get(starId);
+            if (star != null) {
+                String type = change.name().toLowerCase();
+                topic(playerId).publish(id -> ProgressEvent.star(id, playerId, type, star));
+            }
+        }
+    }
+}
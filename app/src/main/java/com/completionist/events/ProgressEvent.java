@@ -0,0 +1,88 @@
+package com.completionist.events;
+
+import com.completionist.progress.StarProgress;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+// one change to a player's progress, as it goes out on the bus
+// star changes carry the star's state after the change; unlocks carry the
+// galaxy and (for a revealed star) the star
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ProgressEvent {
+    private final long id;
+    private final String playerId;
+    private final String type;
+    private final String time;     // iso instant
+    private final String starId;   // effective id ("luigi-" prefixed for luigi), null for some unlocks
+    private final String galaxyId; // unlocks only
+    private final Boolean collected;
+    private final Boolean revealed;
+    private final String note;
+    private final Integer rating;
+
+    private ProgressEvent(long id, String playerId, String type, String starId, String galaxyId,
+                          Boolean collected, Boolean revealed, String note, Integer rating) {
+        this.id = id;
+        this.playerId = playerId;
+        this.type = type;
+        this.time = Instant.now().toString();
+        this.starId = starId;
+        this.galaxyId = galaxyId;
+        this.collected = collected;
+        this.revealed = revealed;
+        this.note = note;
+        this.rating = rating;
+    }
+
+    static ProgressEvent star(long id, String playerId, String type, StarProgress star) {
+        return new ProgressEvent(id, playerId, type, star.getStarId(), null,
+            star.isCollected(), star.isRevealed(), star.getNote(), star.getDifficultyRating());
+    }
+
+    static ProgressEvent unlock(long id, String playerId, String type, String galaxyId, String starId) {
+        return new ProgressEvent(id, playerId, type, starId, galaxyId, null, null, null, null);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    // collected, uncollected, revealed, note, rating, or
+    // galaxy-unlocked, star-unlocked, luigi-unlocked, completed
+    public String getType() {
+        return type;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public String getStarId() {
+        return starId;
+    }
+
+    public String getGalaxyId() {
+        return galaxyId;
+    }
+
+    public Boolean getCollected() {
+        return collected;
+    }
+
+    public Boolean getRevealed() {
+        return revealed;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+}
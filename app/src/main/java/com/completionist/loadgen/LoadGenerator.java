@@ -0,0 +1,204 @@
+package com.completionist.loadgen;
+
+import com.completionist.metrics.Histogram;
+import com.completionist.model.Dome;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.StarProgress;
+import com.completionist.storage.StorageException;
+import com.completionist.storage.StorageService;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// replays toggle / save / load traffic against any StorageService
+// each thread owns its own slice of the profiles (a profile isn't safe to
+// change from two threads), and every operation's latency goes into a
+// histogram for the report
+public class LoadGenerator {
+    private final StorageService storage;
+    private final String gameId;
+    private final String[] catalog;
+
+    public LoadGenerator(StorageService storage, Game game) {
+        this.storage = storage;
+        this.gameId = game.getId();
+        List<String> ids = new ArrayList<>();
+        for (Dome dome : game.getDomes()) {
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                for (Star star : galaxy.getStars()) {
+                    ids.add(star.getId());
+                }
+            }
+        }
+        this.catalog = ids.toArray(new String[0]);
+    }
+
+    // write the whole fleet once - its starting state, and the save cost
+    // for profiles of every size
+    public Report seed(List<PlayerProfile> profiles) {
+        Report report = new Report(profiles.size());
+        long start = System.nanoTime();
+        for (PlayerProfile profile : profiles) {
+            save(profile, report);
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    // operations spread over threads - each one is a save (saveRatio), a
+    // load (loadRatio) or otherwise a star toggle in the player's mode
+    public Report replay(List<PlayerProfile> profiles, int operations, double saveRatio,
+                         double loadRatio, int threads, long seed) throws InterruptedException {
+        int workers = Math.max(1, Math.min(threads, profiles.size()));
+        Report report = new Report(operations);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                List<PlayerProfile> slice = new ArrayList<>();
+                for (int i = w; i < profiles.size(); i += workers) {
+                    slice.add(profiles.get(i));
+                }
+                int share = operations / workers + (w < operations % workers ? 1 : 0);
+                Random random = new Random(seed + w);
+                running.add(pool.submit(() -> work(slice, share, saveRatio, loadRatio, random, report)));
+            }
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    report.fail(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private void work(List<PlayerProfile> slice, int operations, double saveRatio, double loadRatio,
+                      Random random, Report report) {
+        for (int i = 0; i < operations; i++) {
+            PlayerProfile profile = slice.get(random.nextInt(slice.size()));
+            double roll = random.nextDouble();
+            if (roll < saveRatio) {
+                save(profile, report);
+            } else if (roll < saveRatio + loadRatio) {
+                load(profile, report);
+            } else {
+                toggle(profile, random, report);
+            }
+        }
+    }
+
+    private void toggle(PlayerProfile profile, Random random, Report report) {
+        long start = System.nanoTime();
+        GameProgress progress = profile.getOrCreateGameProgress(gameId);
+        String id = profile.getCharacterMode().getStarPrefix() + catalog[random.nextInt(catalog.length)];
+        StarProgress star = progress.getStarProgress(id);
+        if (star.isCollected()) {
+            star.markUncollected();
+        } else {
+            star.markCollected();
+        }
+        progress.touch();
+        report.toggles.record(System.nanoTime() - start);
+    }
+
+    private void save(PlayerProfile profile, Report report) {
+        long start = System.nanoTime();
+        try {
+            storage.saveProfile(profile);
+            report.saves.record(System.nanoTime() - start);
+        } catch (StorageException e) {
+            report.fail(e);
+        }
+    }
+
+    private void load(PlayerProfile profile, Report report) {
+        long start = System.nanoTime();
+        try {
+            storage.loadProfile(profile.getPlayerId());
+            report.loads.record(System.nanoTime() - start);
+        } catch (StorageException e) {
+            report.fail(e);
+        }
+    }
+
+    // what one run did and how long it took
+    public static final class Report {
+        private final Histogram toggles = new Histogram("toggle");
+        private final Histogram saves = new Histogram("save");
+        private final Histogram loads = new Histogram("load");
+        private final AtomicLong errors = new AtomicLong();
+        private final long planned;
+        private volatile String firstError;
+        private long elapsedNanos;
+
+        Report(long planned) {
+            this.planned = planned;
+        }
+
+        public Histogram getToggles() {
+            return toggles;
+        }
+
+        public Histogram getSaves() {
+            return saves;
+        }
+
+        public Histogram getLoads() {
+            return loads;
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getOperations() {
+            return toggles.getCount() + saves.getCount() + loads.getCount();
+        }
+
+        public double getOpsPerSecond() {
+            return elapsedNanos > 0 ? getOperations() / (elapsedNanos / 1e9) : 0;
+        }
+
+        private void fail(Throwable e) {
+            if (errors.getAndIncrement() == 0) {
+                firstError = e.getMessage();
+            }
+        }
+
+        public void print(String title, PrintStream out) {
+            out.printf("%s: %d of %d ops in %.2fs - %.0f ops/s%n",
+                title, getOperations(), planned, elapsedNanos / 1e9, getOpsPerSecond());
+            out.printf("  %-7s %8s %10s %10s %10s %10s%n", "op", "n", "p50", "p90", "p99", "max");
+            for (Histogram h : new Histogram[] {toggles, saves, loads}) {
+                if (h.getCount() > 0) {
+                    out.printf("  %-7s %8d %10s %10s %10s %10s%n", h.getName(), h.getCount(),
+                        micros(h.percentile(50)), micros(h.percentile(90)), micros(h.percentile(99)), micros(h.getMax()));
+                }
+            }
+            if (errors.get() > 0) {
+                out.println("  errors: " + errors.get() + " (first: " + firstError + ")");
+            }
+        }
+
+        private static String micros(long nanos) {
+            return String.format("%.1fus", nanos / 1e3);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.completionist.loadgen;
+
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Dome;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.StarProgress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+// makes believable fake players for load tests
+// most players stall early, some finish mario, a few go for 100% - so
+// completion is skewed low with a bump at the top. stars come roughly in
+// catalog order (domes open up in order) with some wandering, notes and
+// ratings only go on stars people actually got, and luigi progress only
+// exists once mario has unlocked him
+public class ProfileGenerator {
+    private static final String[] NOTES = {
+        "use the spin to get height",
+        "wait for the platform to come back around",
+        "long jump off the edge, then spin",
+        "watch out for the thwomp timing",
+        "took forever, check the back of the planet",
+        "cloud flower makes this way easier",
+        "the purple coins under the bridge are sneaky",
+        "star bits at the start help with the luma",
+    };
+    private static final int[] RATING_WEIGHTS = {1, 3, 4, 2, 1}; // 1..5 stars, mostly middling
+
+    private final Game game;
+    private final Random random;
+    private final String[] catalog; // star ids in dome/galaxy order
+
+    public ProfileGenerator(Game game, long seed) {
+        this.game = game;
+        this.random = new Random(seed);
+        List<String> ids = new ArrayList<>();
+        for (Dome dome : game.getDomes()) {
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                for (Star star : galaxy.getStars()) {
+                    ids.add(star.getId());
+                }
+            }
+        }
+        this.catalog = ids.toArray(new String[0]);
+    }
+
+    public List<PlayerProfile> generate(int count) {
+        List<PlayerProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            profiles.add(next(i));
+        }
+        return profiles;
+    }
+
+    public PlayerProfile next(int index) {
+        PlayerProfile player = new PlayerProfile(String.format("load-%06d", index), "Player " + index);
+        GameProgress progress = player.getOrCreateGameProgress(game.getId());
+
+        collect(progress, "", completion());
+        int marioStars = player.getMarioStarCount(progress);
+        if (marioStars >= CharacterMode.LUIGI.getUnlockRequirement()) {
+            collect(progress, CharacterMode.LUIGI.getStarPrefix(), completion());
+            if (random.nextBoolean()) {
+                player.setCharacterMode(CharacterMode.LUIGI);
+            }
+        }
+
+        int total = progress.getCollectedCount();
+        player.setSpoilersEnabled(random.nextInt(5) == 0);
+        player.setStarBits(total * (20 + random.nextInt(60)));
+        player.addPlayTime(total * (8L + random.nextInt(15)));
+        return player;
+    }
+
+    // fraction of the game one player got through
+    private double completion() {
+        double roll = random.nextDouble();
+        if (roll < 0.08) {
+            return 1.0; // completionists
+        }
+        if (roll < 0.20) {
+            return 0.95 + random.nextDouble() * 0.05; // nearly there
+        }
+        double u = random.nextDouble();
+        return u * u; // everyone else, most of them early on
+    }
+
+    private void collect(GameProgress progress, String prefix, double completion) {
+        int count = (int) Math.round(completion * catalog.length);
+        if (count == 0) {
+            return;
+        }
+
+        // catalog position plus noise - later stars are less likely, but
+        // people skip around
+        Integer[] order = new Integer[catalog.length];
+        double[] rank = new double[catalog.length];
+        for (int i = 0; i < catalog.length; i++) {
+            order[i] = i;
+            rank[i] = i + random.nextGaussian() * 25;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> rank[i]));
+
+        for (int i = 0; i < count; i++) {
+            StarProgress star = progress.getStarProgress(prefix + catalog[order[i]]);
+            star.markCollected();
+            if (random.nextInt(10) == 0) {
+                star.setNote(NOTES[random.nextInt(NOTES.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                star.setDifficultyRating(weightedRating());
+            }
+        }
+    }
+
+    private int weightedRating() {
+        int total = 0;
+        for (int w : RATING_WEIGHTS) {
+            total += w;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            pick -= RATING_WEIGHTS[i];
+            if (pick < 0) {
+                return i + 1;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+}
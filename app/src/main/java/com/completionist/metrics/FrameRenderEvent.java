@@ -0,0 +1,28 @@
+package com.completionist.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// one frame laid out, diffed and written on the render thread
+@Name("completionist.FrameRender")
+@Label("Frame Render")
+@Category({"Completionist", "Rendering"})
+@Description("ScreenBuffer frame - layout, diff against the last frame and terminal write")
+public class FrameRenderEvent extends jdk.jfr.Event {
+    @Label("Content Lines")
+    public int lines;
+
+    @Label("Screen Rows")
+    public int rows;
+
+    @Label("With Art")
+    public boolean withArt;
+
+    @Label("Bytes Written")
+    @Description("0 when nothing changed since the last frame")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,91 @@
+package com.completionist.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// where the time goes - named latency histograms and counters, in process
+// off by default: start() is one volatile read and hands back 0, and
+// recording from a 0 start does nothing, so timed code costs ~nothing
+// turn on with -Dcompletionist.metrics=true or the debug overlay key
+public final class Metrics {
+    // declared before the constants below, which register into them
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    // the timed operations
+    public static final Histogram SAVE = histogram("storage.save");
+    public static final Histogram LOAD = histogram("storage.load");
+    public static final Histogram RENDER = histogram("render.frame");
+    public static final Histogram UNLOCKS = histogram("unlocks.check");
+    public static final Histogram KEY_TO_FRAME = histogram("key.to.frame");
+
+    public static final LongAdder FRAME_BYTES = counter("render.bytes");
+
+    private static volatile boolean enabled = Boolean.getBoolean("completionist.metrics");
+
+    // when the oldest key not on screen yet came in (0 = none waiting)
+    private static final AtomicLong inputWaiting = new AtomicLong();
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // start timing - pass the result to Histogram.recordSince
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    // a key came in - the next frame drawn closes its key-to-frame time
+    public static void inputArrived() {
+        if (enabled) {
+            inputWaiting.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    // a frame just went out
+    public static void frameShown() {
+        if (inputWaiting.get() == 0) {
+            return; // nothing waiting - skip the atomic swap
+        }
+        long since = inputWaiting.getAndSet(0);
+        if (since != 0) {
+            KEY_TO_FRAME.record(System.nanoTime() - since);
+        }
+    }
+
+    // every histogram, sorted by name
+    public static List<Histogram> histogramsByName() {
+        List<Histogram> all = new ArrayList<>(HISTOGRAMS.values());
+        all.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return all;
+    }
+
+    public static Map<String, LongAdder> counters() {
+        return COUNTERS;
+    }
+
+    public static void reset() {
+        HISTOGRAMS.values().forEach(Histogram::reset);
+        COUNTERS.values().forEach(LongAdder::reset);
+        inputWaiting.set(0);
+    }
+}
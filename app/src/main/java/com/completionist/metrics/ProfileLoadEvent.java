@@ -0,0 +1,21 @@
+package com.completionist.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// one profile read back from disk
+@Name("completionist.ProfileLoad")
+@Label("Profile Load")
+@Category({"Completionist", "Storage"})
+@Description("JsonStorageService.loadProfile - json read and parse")
+public class ProfileLoadEvent extends jdk.jfr.Event {
+    @Label("Player")
+    public String playerId;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,25 @@
+package com.completionist.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// one profile written to disk
+@Name("completionist.ProfileSave")
+@Label("Profile Save")
+@Category({"Completionist", "Storage"})
+@Description("JsonStorageService.saveProfile - backup copy plus json write")
+public class ProfileSaveEvent extends jdk.jfr.Event {
+    @Label("Player")
+    public String playerId;
+
+    @Label("Stars Tracked")
+    @Description("star progress entries across all games in the profile")
+    public int stars;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+}
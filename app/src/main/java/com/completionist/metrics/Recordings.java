@@ -0,0 +1,44 @@
+package com.completionist.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+// a flight recording that runs for the whole session - started with --jfr,
+// written out when the app exits. keeps the last half hour (or 64 MB) so a
+// long session still ends with a usable file
+public final class Recordings {
+    public static final Path DEFAULT_FILE = Path.of("completionist.jfr");
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final long MAX_SIZE = 64L * 1024 * 1024;
+
+    private Recordings() {
+    }
+
+    // jdk defaults ("default" profile, ~1% overhead) plus our events
+    public static Recording startContinuous(Path destination) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Could not read the default JFR configuration", e);
+        }
+        recording.setName("completionist");
+        recording.enable(ProfileSaveEvent.class);
+        recording.enable(ProfileLoadEvent.class);
+        recording.enable(FrameRenderEvent.class);
+        recording.enable(UnlockSweepEvent.class);
+        recording.setToDisk(true);
+        recording.setMaxAge(MAX_AGE);
+        recording.setMaxSize(MAX_SIZE);
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
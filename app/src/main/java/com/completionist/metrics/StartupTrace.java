@@ -0,0 +1,101 @@
+package com.completionist.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+// how long boot took and where it went - each phase with the thread it ran
+// on and when it started, plus the time to the first frame on screen
+// times are from the first thing main does (this class loading)
+public final class StartupTrace {
+    private static final long ORIGIN = System.nanoTime();
+
+    private static final List<Phase> PHASES = new CopyOnWriteArrayList<>();
+    private static volatile long firstFrame; // nanos after ORIGIN, 0 = nothing drawn yet
+
+    private StartupTrace() {
+    }
+
+    // touch the class so the clock starts here
+    public static void begin() {
+    }
+
+    // run one boot phase and note how long it took
+    public static <T> T time(String name, Supplier<T> phase) {
+        long start = System.nanoTime();
+        try {
+            return phase.get();
+        } finally {
+            long end = System.nanoTime();
+            PHASES.add(new Phase(name, Thread.currentThread().getName(), start - ORIGIN, end - start));
+        }
+    }
+
+    // called for every frame drawn, only the first one counts
+    public static void frameShown() {
+        if (firstFrame == 0) {
+            firstFrame = Math.max(1, System.nanoTime() - ORIGIN);
+        }
+    }
+
+    // nanos from main to the first frame, 0 if there wasn't one
+    public static long getFirstFrameNanos() {
+        return firstFrame;
+    }
+
+    // every phase so far, in the order they started
+    public static List<Phase> phases() {
+        List<Phase> sorted = new ArrayList<>(PHASES);
+        sorted.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        return sorted;
+    }
+
+    public static void report(PrintStream out) {
+        // asked for here, not at boot - the management classes take a while to load
+        long jvmMillis = ManagementFactory.getRuntimeMXBean().getUptime() - (System.nanoTime() - ORIGIN) / 1_000_000;
+        out.printf("startup (jvm to main %dms)%n", jvmMillis);
+        out.printf("  %9s %9s  %-12s %s%n", "at ms", "took ms", "phase", "thread");
+        for (Phase phase : phases()) {
+            out.printf("  %9.1f %9.1f  %-12s %s%n",
+                phase.startNanos / 1e6, phase.durationNanos / 1e6, phase.name, phase.thread);
+        }
+        long frame = firstFrame;
+        out.println(frame > 0
+            ? String.format("  first frame at %.1fms", frame / 1e6)
+            : "  no frame drawn");
+    }
+
+    // one phase: when it started (after main) and how long it ran
+    public static final class Phase {
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private final long durationNanos;
+
+        Phase(String name, String thread, long startNanos, long durationNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+}
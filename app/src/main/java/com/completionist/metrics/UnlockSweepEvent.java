@@ -0,0 +1,23 @@
+package com.completionist.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// the unlock check after a star changes
+@Name("completionist.UnlockSweep")
+@Label("Unlock Sweep")
+@Category({"Completionist", "Progress"})
+@Description("checkForUnlocks - every galaxy and star condition for the current mode")
+public class UnlockSweepEvent extends jdk.jfr.Event {
+    @Label("Mode")
+    public String mode;
+
+    @Label("Conditions Evaluated")
+    public int conditions;
+
+    @Label("Unlocks")
+    @Description("notifications raised by this sweep")
+    public int unlocks;
+}
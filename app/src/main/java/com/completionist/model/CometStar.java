@@ -4,15 +4,10 @@ package com.completionist.model;
 public class CometStar extends Star {
 
     public CometStar(String id, String name, UnlockCondition unlockCondition) {
-        super(id, name, true, unlockCondition);
+        super(id, name, true, unlockCondition, StarType.COMET);
     }
 
     public CometStar(String id, String name) {
         this(id, name, null);
     }
-
-    @Override
-    public String getTypeIcon() {
-        return "☄️";
-    }
 }
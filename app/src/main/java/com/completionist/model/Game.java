@@ -1,6 +1,7 @@
 package com.completionist.model;
 
 import com.completionist.progress.GameProgress;
+import java.util.ArrayList;
 import java.util.List;
 
 // top level - holds all domes
@@ -8,18 +9,42 @@ public class Game implements ICompletionTrackable {
     private final String id;
     private final String name;
     private final List<Dome> domes;
+    // worked out once - the unlock checks look at these after every collect
+    private final List<Galaxy> starCountGalaxies;
+    private final List<Galaxy> galaxiesWithLockedStars;
 
     public Game(String id, String name, List<Dome> domes) {
         this.id = id;
         this.name = name;
         this.domes = List.copyOf(domes);
         for (Dome dome : this.domes) dome.setGame(this);
+
+        List<Galaxy> counted = new ArrayList<>();
+        List<Galaxy> locked = new ArrayList<>();
+        for (Dome dome : this.domes) {
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                if (galaxy.getUnlockCondition() instanceof TotalStarsCondition) {
+                    counted.add(galaxy);
+                }
+                if (galaxy.getStars().stream().anyMatch(star -> star.getUnlockCondition() != null)) {
+                    locked.add(galaxy);
+                }
+            }
+        }
+        this.starCountGalaxies = List.copyOf(counted);
+        this.galaxiesWithLockedStars = List.copyOf(locked);
     }
 
     public String getId() { return id; }
     public String getName() { return name; }
     public List<Dome> getDomes() { return domes; }
 
+    // galaxies that open at a star count (TotalStarsCondition)
+    public List<Galaxy> getStarCountGalaxies() { return starCountGalaxies; }
+
+    // galaxies with at least one star that has its own unlock condition
+    public List<Galaxy> getGalaxiesWithLockedStars() { return galaxiesWithLockedStars; }
+
     public Dome getDomeById(String domeId) {
         return domes.stream().filter(d -> d.getId().equals(domeId)).findFirst().orElse(null);
     }
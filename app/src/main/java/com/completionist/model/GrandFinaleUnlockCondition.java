@@ -1,6 +1,7 @@
 package com.completionist.model;
 
 import com.completionist.progress.GameProgress;
+import com.completionist.progress.StarProgress;
 
 // the big one - grand finale galaxy unlock
 // need 240 stars total (mario + luigi combined, no green stars or grand finale)
@@ -18,18 +19,20 @@ public class GrandFinaleUnlockCondition implements UnlockCondition {
 
         GameProgress progress = (GameProgress) context;
         
-        // count regular stars (exclude grand finale and green stars)
-        int totalStars = (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> !sp.getStarId().equals("grand-finale-star-festival") &&
-                              !sp.getStarId().equals("luigi-grand-finale-star-festival") &&
-                              !sp.getStarId().contains("-green-star") &&
-                              sp.isCollected())
-                .count();
-
-        // count green stars separately
-        int greenStars = (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> sp.getStarId().contains("-green-star") && sp.isCollected())
-                .count();
+        // count regular stars (exclude grand finale) and green stars separately, in one pass
+        int totalStars = 0;
+        int greenStars = 0;
+        for (StarProgress sp : progress.getAllStarProgress().values()) {
+            if (!sp.isCollected()) {
+                continue;
+            }
+            String id = sp.getStarId();
+            if (id.contains("-green-star")) {
+                greenStars++;
+            } else if (!id.equals("grand-finale-star-festival") && !id.equals("luigi-grand-finale-star-festival")) {
+                totalStars++;
+            }
+        }
 
         return totalStars >= REQUIRED_TOTAL_STARS && greenStars >= REQUIRED_GREEN_STARS;
     }
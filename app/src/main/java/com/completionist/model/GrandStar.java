@@ -4,11 +4,6 @@ package com.completionist.model;
 public class GrandStar extends Star {
 
     public GrandStar(String id, String name) {
-        super(id, name, false, null);
-    }
-
-    @Override
-    public String getTypeIcon() {
-        return "🌠";
+        super(id, name, false, null, StarType.GRAND);
     }
 }
@@ -4,15 +4,10 @@ package com.completionist.model;
 public class GreenStar extends Star {
 
     public GreenStar(String id, String name, UnlockCondition unlockCondition) {
-        super(id, name, false, unlockCondition);  // not hidden, just hard to find
+        super(id, name, false, unlockCondition, StarType.GREEN);  // not hidden, just hard to find
     }
 
     public GreenStar(String id, String name) {
         this(id, name, null);
     }
-
-    @Override
-    public String getTypeIcon() {
-        return "💚";
-    }
 }
@@ -1,6 +1,7 @@
 package com.completionist.model;
 
 import com.completionist.progress.GameProgress;
+import com.completionist.progress.StarProgress;
 import java.util.List;
 
 // planet of trials unlock condition
@@ -38,19 +39,23 @@ public class GreenStarsUnlockCondition implements UnlockCondition {
     
     // check if mario and luigi both have 120 (alternate unlock path)
     private boolean areBothCharactersAt120Stars(GameProgress progress) {
-        // count mario stars (no prefix, skip grand finale)
-        int marioStars = (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> !sp.getStarId().startsWith("luigi-") && 
-                              !sp.getStarId().equals("grand-finale-star-festival") &&
-                              sp.isCollected())
-                .count();
-        
-        // count luigi stars (luigi- prefix, skip grand finale)
-        int luigiStars = (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> sp.getStarId().startsWith("luigi-") && 
-                              !sp.getStarId().equals("luigi-grand-finale-star-festival") &&
-                              sp.isCollected())
-                .count();
+        // count mario stars (no prefix) and luigi stars (luigi- prefix)
+        // in one pass, skipping grand finale
+        int marioStars = 0;
+        int luigiStars = 0;
+        for (StarProgress sp : progress.getAllStarProgress().values()) {
+            if (!sp.isCollected()) {
+                continue;
+            }
+            String id = sp.getStarId();
+            if (id.startsWith("luigi-")) {
+                if (!id.equals("luigi-grand-finale-star-festival")) {
+                    luigiStars++;
+                }
+            } else if (!id.equals("grand-finale-star-festival")) {
+                marioStars++;
+            }
+        }
 
         return marioStars >= REQUIRED_STARS_PER_CHARACTER && 
                luigiStars >= REQUIRED_STARS_PER_CHARACTER;
@@ -4,11 +4,6 @@ package com.completionist.model;
 public class MainStar extends Star {
 
     public MainStar(String id, String name) {
-        super(id, name, false, null);
-    }
-
-    @Override
-    public String getTypeIcon() {
-        return "⭐";
+        super(id, name, false, null, StarType.MAIN);
     }
 }
@@ -7,22 +7,27 @@ public abstract class Star {
     private final String name;
     private final boolean hiddenByDefault;
     private final UnlockCondition unlockCondition;
+    private final StarType type;
 
     // set up a new star with all its properties
-    protected Star(String id, String name, boolean hiddenByDefault, UnlockCondition unlockCondition) {
+    protected Star(String id, String name, boolean hiddenByDefault, UnlockCondition unlockCondition, StarType type) {
         this.id = id;
         this.name = name;
         this.hiddenByDefault = hiddenByDefault;
         this.unlockCondition = unlockCondition;
+        this.type = type;
     }
 
     public String getId() { return id; }
     public String getName() { return name; }
     public boolean isHiddenByDefault() { return hiddenByDefault; }
     public UnlockCondition getUnlockCondition() { return unlockCondition; }
+    public StarType getType() { return type; }
 
     // each star type has its own icon
-    public abstract String getTypeIcon();
+    public String getTypeIcon() {
+        return type.getIcon();
+    }
 
     @Override
     public String toString() {
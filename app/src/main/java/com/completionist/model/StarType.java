@@ -0,0 +1,21 @@
+package com.completionist.model;
+
+// what kind of star it is - lets the ui pick icons and colors with a
+// table lookup instead of instanceof checks
+public enum StarType {
+    MAIN("⭐"),      // regular mission stars
+    SECRET("🌟"),    // hidden bonus stars
+    COMET("☄️"),     // comet challenges
+    GREEN("💚"),     // the 3 green stars
+    GRAND("🌠");     // boss completion rewards
+
+    private final String icon;
+
+    StarType(String icon) {
+        this.icon = icon;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+}
@@ -3,17 +3,27 @@ package com.completionist.progress;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 // star collection progress for one game
 public class GameProgress {
     private final String gameId;
     private final Map<String, StarProgress> starProgress;
+    private final Map<String, StarProgress> starProgressView; // read-only, handed out instead of copies
     private final LocalDateTime startedAt;
     private LocalDateTime lastUpdated;
 
+    // not saved - whoever is showing this progress
+    private final List<ProgressListener> listeners = new CopyOnWriteArrayList<>();
+    private List<String> heldIds;          // while a transaction applies: changes
+    private List<StarChange> heldChanges;  // told to listeners once it's done
+
     @JsonCreator
     public GameProgress(
             @JsonProperty("gameId") String gameId,
@@ -22,8 +32,12 @@ public class GameProgress {
             @JsonProperty("lastUpdated") LocalDateTime lastUpdated) {
         this.gameId = gameId;
         this.starProgress = starProgress != null ? new HashMap<>(starProgress) : new HashMap<>();
+        this.starProgressView = Collections.unmodifiableMap(this.starProgress);
         this.startedAt = startedAt != null ? startedAt : LocalDateTime.now();
         this.lastUpdated = lastUpdated != null ? lastUpdated : LocalDateTime.now();
+        for (StarProgress star : this.starProgress.values()) {
+            star.attachTo(this);
+        }
     }
 
     public GameProgress(String gameId) {
@@ -44,7 +58,13 @@ public class GameProgress {
 
     // get star progress, creates it if doesn't exist (lazy)
     public StarProgress getStarProgress(String starId) {
-        return starProgress.computeIfAbsent(starId, StarProgress::new);
+        StarProgress progress = starProgress.get(starId);
+        if (progress == null) {
+            progress = new StarProgress(starId);
+            progress.attachTo(this);
+            starProgress.put(starId, progress);
+        }
+        return progress;
     }
 
     // quick check if a star is collected
@@ -61,9 +81,13 @@ public class GameProgress {
 
     // total stars collected in this game
     public int getCollectedCount() {
-        return (int) starProgress.values().stream()
-                .filter(StarProgress::isCollected)
-                .count();
+        int count = 0;
+        for (StarProgress progress : starProgress.values()) {
+            if (progress.isCollected()) {
+                count++;
+            }
+        }
+        return count;
     }
 
     // get all notes for stars that have them
@@ -76,14 +100,68 @@ public class GameProgress {
                 ));
     }
 
+    // hear about every star change from now on
+    public void addListener(ProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ProgressListener listener) {
+        listeners.remove(listener);
+    }
+
+    // stage changes to apply all at once - see ProgressTransaction
+    public ProgressTransaction begin() {
+        return new ProgressTransaction(this);
+    }
+
+    // called by StarProgress after it changes
+    void starChanged(String starId, StarChange change) {
+        if (heldIds != null) {
+            heldIds.add(starId);
+            heldChanges.add(change);
+            return;
+        }
+        for (ProgressListener listener : listeners) {
+            listener.starChanged(starId, change);
+        }
+    }
+
+    // listeners hear nothing until release(), so they never see half a transaction
+    void hold() {
+        heldIds = new ArrayList<>();
+        heldChanges = new ArrayList<>();
+    }
+
+    // then everything that happened, in order
+    void release() {
+        List<String> ids = heldIds;
+        List<StarChange> changes = heldChanges;
+        heldIds = null;
+        heldChanges = null;
+        for (int i = 0; i < ids.size(); i++) {
+            starChanged(ids.get(i), changes.get(i));
+        }
+    }
+
     // update the timestamp when something changes
     public void touch() {
         this.lastUpdated = LocalDateTime.now();
     }
 
-    // get all star progress for saving
+    // deep copy that later changes here don't touch, no listeners
+    public GameProgress snapshot() {
+        Map<String, StarProgress> copies = new HashMap<>(starProgress.size() * 2);
+        for (StarProgress star : starProgress.values()) {
+            copies.put(star.getStarId(), star.copy());
+        }
+        return new GameProgress(gameId, copies, startedAt, lastUpdated);
+    }
+
+    // all star progress, for saving and counting
+    // a live read-only view - it used to be a copy per call, and the
+    // counts call it for every row on screen
     public Map<String, StarProgress> getAllStarProgress() {
-        return new HashMap<>(starProgress);
+        return starProgressView;
     }
 
     @Override
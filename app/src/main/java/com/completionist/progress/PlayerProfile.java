@@ -4,6 +4,7 @@ import com.completionist.model.CharacterMode;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +16,7 @@ public class PlayerProfile {
     private final String playerId;
     private String displayName;
     private final Map<String, GameProgress> gameProgress;
+    private final Map<String, GameProgress> gameProgressView; // read-only, handed out instead of copies
     private final LocalDateTime createdAt;
     private LocalDateTime lastPlayed;
     private boolean spoilersEnabled;  // show all hidden stars
@@ -36,6 +38,7 @@ public class PlayerProfile {
         this.playerId = playerId;
         this.displayName = displayName;
         this.gameProgress = gameProgress != null ? new HashMap<>(gameProgress) : new HashMap<>();
+        this.gameProgressView = Collections.unmodifiableMap(this.gameProgress);
         this.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
         this.lastPlayed = lastPlayed != null ? lastPlayed : LocalDateTime.now();
         this.spoilersEnabled = spoilersEnabled;
@@ -102,9 +105,19 @@ public class PlayerProfile {
                 .sum();
     }
 
-    // all progress for saving
+    // deep copy to save on another thread while this one keeps changing
+    public PlayerProfile snapshot() {
+        Map<String, GameProgress> games = new HashMap<>();
+        for (Map.Entry<String, GameProgress> entry : gameProgress.entrySet()) {
+            games.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new PlayerProfile(playerId, displayName, games, createdAt, lastPlayed,
+                spoilersEnabled, starBits, playTimeMinutes, characterMode);
+    }
+
+    // all progress for saving - a live read-only view, not a copy
     public Map<String, GameProgress> getAllGameProgress() {
-        return new HashMap<>(gameProgress);
+        return gameProgressView;
     }
 
     public LocalDateTime getLastPlayed() {
@@ -168,20 +181,24 @@ public class PlayerProfile {
 
     // mario stars (excludes green stars)
     public int getMarioStarCount(GameProgress progress) {
-        return (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> !sp.getStarId().startsWith("luigi-") 
-                           && !sp.getStarId().contains("green-star")
-                           && sp.isCollected())
-                .count();
+        return countStars(progress, false);
     }
 
     // luigi stars (excludes green stars)
     public int getLuigiStarCount(GameProgress progress) {
-        return (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> sp.getStarId().startsWith("luigi-") 
-                           && !sp.getStarId().contains("green-star")
-                           && sp.isCollected())
-                .count();
+        return countStars(progress, true);
+    }
+
+    // plain loop - this runs for every frame of the main menu
+    private static int countStars(GameProgress progress, boolean luigi) {
+        int count = 0;
+        for (StarProgress sp : progress.getAllStarProgress().values()) {
+            String id = sp.getStarId();
+            if (sp.isCollected() && id.startsWith("luigi-") == luigi && !id.contains("green-star")) {
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
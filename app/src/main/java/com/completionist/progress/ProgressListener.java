@@ -0,0 +1,13 @@
+package com.completionist.progress;
+
+// told whenever a star's progress changes (collected, revealed, note, rating)
+// the id is the effective one, so luigi stars come with their "luigi-" prefix
+@FunctionalInterface
+public interface ProgressListener {
+    void starChanged(String starId);
+
+    // same, for listeners that care what kind of change it was
+    default void starChanged(String starId, StarChange change) {
+        starChanged(starId);
+    }
+}
@@ -0,0 +1,223 @@
+package com.completionist.progress;
+
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// a batch of star changes that goes in all at once (GameProgress.begin())
+// nothing happens until commit(): bad input is turned away while staging or
+// before anything is applied, listeners hear about the batch only after
+// all of it is in, and the unlock rules run once for the lot
+//
+// not thread safe - stage and commit from whoever owns the progress
+public class ProgressTransaction {
+    private final GameProgress progress;
+    private final Map<String, Staged> staged = new LinkedHashMap<>();
+    private boolean committed;
+
+    ProgressTransaction(GameProgress progress) {
+        this.progress = progress;
+    }
+
+    public ProgressTransaction collect(String starId) {
+        staged(starId).collected = true;
+        return this;
+    }
+
+    public ProgressTransaction uncollect(String starId) {
+        staged(starId).collected = false;
+        return this;
+    }
+
+    public ProgressTransaction reveal(String starId, boolean revealed) {
+        staged(starId).revealed = revealed;
+        return this;
+    }
+
+    public ProgressTransaction note(String starId, String note) {
+        Staged star = staged(starId);
+        star.noteSet = true;
+        star.note = note;
+        return this;
+    }
+
+    // 1-5, or null to clear
+    public ProgressTransaction rating(String starId, Integer rating) {
+        if (rating != null && (rating < 1 || rating > 5)) {
+            throw new IllegalArgumentException("Difficulty rating must be 1-5 or null");
+        }
+        Staged star = staged(starId);
+        star.ratingSet = true;
+        star.rating = rating;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return staged.isEmpty();
+    }
+
+    // apply everything staged - changes that wouldn't change anything are skipped
+    public Result commit() {
+        return apply(null, null, null);
+    }
+
+    // the same, but every star has to be in the catalog (with or without the
+    // mode's prefix) or nothing is applied - and whatever the batch unlocked
+    // for this mode is revealed and returned
+    public Result commit(Game game, PlayerProfile player, CharacterMode mode) {
+        for (String starId : staged.keySet()) {
+            if (!inCatalog(game, starId)) {
+                throw new IllegalArgumentException("Unknown star: " + starId);
+            }
+        }
+        return apply(game, player, mode);
+    }
+
+    private Result apply(Game game, PlayerProfile player, CharacterMode mode) {
+        if (committed) {
+            throw new IllegalStateException("Transaction already committed");
+        }
+        committed = true;
+
+        boolean sweep = game != null;
+        int modeStarsBefore = 0;
+        int marioStarsBefore = 0;
+        int completionBefore = 0;
+        if (sweep) {
+            modeStarsBefore = UnlockSweep.modeStarCount(player, progress, mode);
+            marioStarsBefore = player.getMarioStarCount(progress);
+            completionBefore = UnlockSweep.completionCount(player, progress);
+        }
+
+        List<Change> changes = new ArrayList<>();
+        List<UnlockSweep.Unlock> unlocks = new ArrayList<>();
+        progress.hold();
+        try {
+            boolean collected = false;
+            for (Map.Entry<String, Staged> entry : staged.entrySet()) {
+                String starId = entry.getKey();
+                Staged next = entry.getValue();
+                StarProgress star = progress.getStarProgress(starId);
+                if (next.collected != null && next.collected != star.isCollected()) {
+                    if (next.collected) {
+                        star.markCollected();
+                        collected = true;
+                        changes.add(new Change(starId, StarChange.COLLECTED));
+                    } else {
+                        star.markUncollected();
+                        changes.add(new Change(starId, StarChange.UNCOLLECTED));
+                    }
+                }
+                if (next.revealed != null && next.revealed != star.isRevealed()) {
+                    star.setRevealed(next.revealed);
+                    changes.add(new Change(starId, StarChange.REVEALED));
+                }
+                if (next.noteSet && !same(next.note, star.getNote())) {
+                    star.setNote(next.note);
+                    changes.add(new Change(starId, StarChange.NOTE));
+                }
+                if (next.ratingSet && !same(next.rating, star.getDifficultyRating())) {
+                    star.setDifficultyRating(next.rating);
+                    changes.add(new Change(starId, StarChange.RATING));
+                }
+            }
+
+            if (sweep && collected) {
+                for (UnlockSweep.Unlock unlock : UnlockSweep.afterBatch(game, player, progress, mode, modeStarsBefore)) {
+                    unlocks.add(unlock);
+                    if (unlock.getKind() == UnlockSweep.Unlock.Kind.STAR) {
+                        changes.add(new Change(mode.getStarPrefix() + unlock.getStar().getId(), StarChange.REVEALED));
+                    }
+                }
+                unlocks.addAll(UnlockSweep.milestones(marioStarsBefore, completionBefore, player, progress));
+            }
+            if (!changes.isEmpty()) {
+                progress.touch();
+            }
+        } finally {
+            progress.release();
+        }
+        return new Result(changes, unlocks);
+    }
+
+    private Staged staged(String starId) {
+        if (committed) {
+            throw new IllegalStateException("Transaction already committed");
+        }
+        if (starId == null || starId.isEmpty()) {
+            throw new IllegalArgumentException("Star id is required");
+        }
+        return staged.computeIfAbsent(starId, id -> new Staged());
+    }
+
+    private static boolean inCatalog(Game game, String starId) {
+        for (CharacterMode mode : CharacterMode.values()) {
+            String prefix = mode.getStarPrefix();
+            if (starId.startsWith(prefix) && game.findStarById(starId.substring(prefix.length())) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // what one star should end up as (null / not set = leave it)
+    private static final class Staged {
+        Boolean collected;
+        Boolean revealed;
+        boolean noteSet;
+        String note;
+        boolean ratingSet;
+        Integer rating;
+    }
+
+    // one thing that actually changed
+    public static final class Change {
+        private final String starId;
+        private final StarChange kind;
+
+        Change(String starId, StarChange kind) {
+            this.starId = starId;
+            this.kind = kind;
+        }
+
+        public String getStarId() {
+            return starId;
+        }
+
+        public StarChange getKind() {
+            return kind;
+        }
+    }
+
+    // what a commit did: the delta, in order, and what it opened up
+    public static final class Result {
+        private final List<Change> changes;
+        private final List<UnlockSweep.Unlock> unlocks;
+
+        Result(List<Change> changes, List<UnlockSweep.Unlock> unlocks) {
+            this.changes = Collections.unmodifiableList(changes);
+            this.unlocks = Collections.unmodifiableList(unlocks);
+        }
+
+        public List<Change> getChanges() {
+            return changes;
+        }
+
+        public List<UnlockSweep.Unlock> getUnlocks() {
+            return unlocks;
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+    }
+}
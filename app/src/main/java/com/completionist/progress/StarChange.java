@@ -0,0 +1,10 @@
+package com.completionist.progress;
+
+// what just happened to a star
+public enum StarChange {
+    COLLECTED,
+    UNCOLLECTED,
+    REVEALED,   // revealed or hidden again - the star says which
+    NOTE,
+    RATING
+}
@@ -13,6 +13,7 @@ public class StarProgress {
     private boolean revealed;  // for hidden stars you've found
     private String note;
     private Integer difficultyRating;  // 1-5, null if not rated
+    private GameProgress owner;  // told about changes, not saved
 
     @JsonCreator
     public StarProgress(
@@ -34,6 +35,21 @@ public class StarProgress {
         this(starId, false, null, false, null, null);
     }
 
+    void attachTo(GameProgress owner) {
+        this.owner = owner;
+    }
+
+    private void changed(StarChange change) {
+        if (owner != null) {
+            owner.starChanged(starId, change);
+        }
+    }
+
+    // detached copy (no owner) for saving off the ui thread
+    StarProgress copy() {
+        return new StarProgress(starId, collected, collectedAt, revealed, note, difficultyRating);
+    }
+
     public String getStarId() {
         return starId;
     }
@@ -62,22 +78,26 @@ public class StarProgress {
     public void markCollected() {
         this.collected = true;
         this.collectedAt = LocalDateTime.now();
+        changed(StarChange.COLLECTED);
     }
 
     // undo collection
     public void markUncollected() {
         this.collected = false;
         this.collectedAt = null;
+        changed(StarChange.UNCOLLECTED);
     }
 
     // reveal a hidden star
     public void setRevealed(boolean revealed) {
         this.revealed = revealed;
+        changed(StarChange.REVEALED);
     }
 
     // add a note about this star
     public void setNote(String note) {
         this.note = note;
+        changed(StarChange.NOTE);
     }
 
     // set difficulty 1-5 (or null to clear)
@@ -86,6 +106,7 @@ public class StarProgress {
             throw new IllegalArgumentException("Difficulty rating must be 1-5 or null");
         }
         this.difficultyRating = rating;
+        changed(StarChange.RATING);
     }
 
     // shows stars like ★★★☆☆
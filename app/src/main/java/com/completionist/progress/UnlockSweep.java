@@ -0,0 +1,181 @@
+package com.completionist.progress;
+
+import com.completionist.metrics.Metrics;
+import com.completionist.metrics.UnlockSweepEvent;
+import com.completionist.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the unlock rules, for whoever changes progress (the ui, the api)
+// conditions are checked per character - luigi's stars unlock luigi's
+// galaxies and comets
+public final class UnlockSweep {
+    // 121 mario + 121 luigi + 3 mario green + 3 luigi green
+    public static final int COMPLETE_STARS = 248;
+
+    private UnlockSweep() {
+    }
+
+    // something that just opened up
+    public static final class Unlock {
+        public enum Kind { GALAXY, STAR, LUIGI_MODE, COMPLETE }
+
+        private final Kind kind;
+        private final Galaxy galaxy; // GALAXY, and the galaxy a STAR is in
+        private final Star star;     // STAR only
+
+        Unlock(Kind kind, Galaxy galaxy, Star star) {
+            this.kind = kind;
+            this.galaxy = galaxy;
+            this.star = star;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Galaxy getGalaxy() {
+            return galaxy;
+        }
+
+        public Star getStar() {
+            return star;
+        }
+    }
+
+    // stars a character has (no green stars)
+    public static int modeStarCount(PlayerProfile player, GameProgress progress, CharacterMode mode) {
+        return mode == CharacterMode.MARIO
+            ? player.getMarioStarCount(progress)
+            : player.getLuigiStarCount(progress);
+    }
+
+    // both characters, green stars included - COMPLETE_STARS is 100%
+    public static int completionCount(PlayerProfile player, GameProgress progress) {
+        GreenStarsUnlockCondition greenCondition = new GreenStarsUnlockCondition();
+        return player.getMarioStarCount(progress)
+            + player.getLuigiStarCount(progress)
+            + greenCondition.getCollectedCount(progress, CharacterMode.MARIO)
+            + greenCondition.getCollectedCount(progress, CharacterMode.LUIGI);
+    }
+
+    // check if unlock condition is met for a character
+    public static boolean isMet(UnlockCondition condition, PlayerProfile player, GameProgress progress, CharacterMode mode) {
+        if (condition == null) {
+            return true;
+        }
+
+        // For TotalStarsCondition, use mode-specific count
+        if (condition instanceof TotalStarsCondition) {
+            return modeStarCount(player, progress, mode) >= ((TotalStarsCondition) condition).getRequiredStars();
+        }
+
+        // For GrandFinaleUnlockCondition, check both Mario and Luigi stars
+        if (condition instanceof GrandFinaleUnlockCondition) {
+            return ((GrandFinaleUnlockCondition) condition).isMetForMode(progress, mode);
+        }
+
+        // For GreenStarsUnlockCondition, check mode-specific green stars
+        if (condition instanceof GreenStarsUnlockCondition) {
+            return ((GreenStarsUnlockCondition) condition).isMetForMode(progress, mode);
+        }
+
+        // comets need 13+ stars AND the galaxy's main stars for this mode
+        if (condition instanceof CometUnlockCondition) {
+            if (modeStarCount(player, progress, mode) < 13) {
+                return false;
+            }
+            for (String mainStarId : ((CometUnlockCondition) condition).getMainStarIds()) {
+                if (!progress.isStarCollected(mode.getStarPrefix() + mainStarId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // For PurpleCometUnlockCondition, check mode-specific stars
+        if (condition instanceof PurpleCometUnlockCondition) {
+            String prefix = mode.getStarPrefix();
+            return progress.isStarCollected(prefix + "bowser-galaxy-reactor-fate") &&
+                   progress.isStarCollected(prefix + "gateway-purple-coins");
+        }
+
+        // Default: use original condition check
+        return condition.isMet(progress);
+    }
+
+    // after a star is collected: galaxies that just hit their star count, and
+    // stars whose condition is now met - those get revealed for this mode
+    public static List<Unlock> run(Game game, PlayerProfile player, GameProgress progress, CharacterMode mode) {
+        int modeStars = modeStarCount(player, progress, mode);
+        return sweep(game, player, progress, mode, modeStars - 1, modeStars);
+    }
+
+    // after a batch of changes (see ProgressTransaction) - the same, but a
+    // galaxy counts if its star count was passed anywhere between the
+    // count before the batch and now, not only landed on
+    public static List<Unlock> afterBatch(Game game, PlayerProfile player, GameProgress progress,
+                                          CharacterMode mode, int modeStarsBefore) {
+        return sweep(game, player, progress, mode, modeStarsBefore, modeStarCount(player, progress, mode));
+    }
+
+    // galaxies with a count in (before, now], then only the stars that have
+    // a condition - the rest can't unlock anything (the game keeps both lists)
+    private static List<Unlock> sweep(Game game, PlayerProfile player, GameProgress progress,
+                                      CharacterMode mode, int before, int now) {
+        long sweepStart = Metrics.start();
+        UnlockSweepEvent event = new UnlockSweepEvent();
+        event.begin();
+
+        List<Unlock> unlocks = new ArrayList<>();
+        int checked = 0;
+        for (Galaxy galaxy : game.getStarCountGalaxies()) {
+            int required = ((TotalStarsCondition) galaxy.getUnlockCondition()).getRequiredStars();
+            if (before < required && required <= now) {
+                unlocks.add(new Unlock(Unlock.Kind.GALAXY, galaxy, null));
+            }
+            checked++;
+        }
+
+        String prefix = mode.getStarPrefix();
+        for (Galaxy galaxy : game.getGalaxiesWithLockedStars()) {
+            for (Star star : galaxy.getStars()) {
+                if (star.getUnlockCondition() == null) {
+                    continue;
+                }
+                String effectiveStarId = prefix + star.getId();
+                if (!progress.isStarRevealed(effectiveStarId) && isMet(star.getUnlockCondition(), player, progress, mode)) {
+                    progress.getStarProgress(effectiveStarId).setRevealed(true);
+                    unlocks.add(new Unlock(Unlock.Kind.STAR, galaxy, star));
+                }
+                checked++;
+            }
+        }
+        Metrics.UNLOCKS.recordSince(sweepStart);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode.getId();
+            event.conditions = checked;
+            event.unlocks = unlocks.size();
+            event.commit();
+        }
+        return unlocks;
+    }
+
+    // luigi mode and 100%, if a change just crossed them - pass the counts
+    // from before it (getMarioStarCount and completionCount)
+    public static List<Unlock> milestones(int marioStarsBefore, int completionBefore,
+                                          PlayerProfile player, GameProgress progress) {
+        List<Unlock> unlocks = new ArrayList<>(2);
+        int luigiAt = CharacterMode.LUIGI.getUnlockRequirement();
+        if (marioStarsBefore < luigiAt && player.getMarioStarCount(progress) >= luigiAt) {
+            unlocks.add(new Unlock(Unlock.Kind.LUIGI_MODE, null, null));
+        }
+        if (completionBefore < COMPLETE_STARS && completionCount(player, progress) >= COMPLETE_STARS) {
+            unlocks.add(new Unlock(Unlock.Kind.COMPLETE, null, null));
+        }
+        return unlocks;
+    }
+}
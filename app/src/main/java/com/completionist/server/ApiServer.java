@@ -0,0 +1,670 @@
+package com.completionist.server;
+
+import com.completionist.events.EventBus;
+import com.completionist.events.ProgressEvent;
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Dome;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.ProgressTransaction;
+import com.completionist.progress.StarProgress;
+import com.completionist.stats.ProfileStats;
+import com.completionist.stats.StatsStorageService;
+import com.completionist.storage.ProfileCache;
+import com.completionist.storage.ProfilePage;
+import com.completionist.storage.StorageException;
+import com.completionist.storage.StorageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// profiles and progress as json over http, for dashboards and scripts
+// same catalog and storage as the ui - run with App --serve
+//
+//   GET  /api/profiles                           ids, names, star counts (?cursor=&limit=)
+//   GET  /api/profiles/{id}                      one profile's totals
+//   GET  /api/profiles/{id}/domes                completion per dome
+//   GET  /api/profiles/{id}/domes/{dome}         completion per galaxy in it
+//   GET  /api/profiles/{id}/galaxies/{galaxy}    every star with note and rating
+//   POST /api/profiles/{id}/stars/{star}         {"collected", "note", "rating"} - any of them
+//   POST /api/profiles/{id}/stars                [{"star", "collected", "note", "rating"}, ...] - all or nothing
+//   GET  /api/profiles/{id}/events               changes and unlocks as server-sent events
+//   GET  /api/stats/leaderboards/{board}         top profiles: total, mario, luigi, time-to-complete (?limit=)
+//   GET  /api/stats/galaxies/{galaxy}            share of profiles with each star (?mode=mario|luigi)
+//
+// progress is for the profile's current character unless ?mode=mario|luigi
+//
+// profiles stay in a ProfileCache once used - reads take its snapshots, and
+// changes to different profiles don't wait on each other
+//
+// stats are kept up to date by every save, after one pass over the
+// profiles at start ("seeded": false until it's done)
+//
+// one thread per request from a cached pool - requests are short and mostly
+// wait on the disk (virtual threads would do, but this is java 17)
+public class ApiServer {
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9_-]{1,64}"); // ids end up in file paths
+    private static final int DEFAULT_PAGE = 50;
+    private static final int MAX_PAGE = 500;
+    private static final int MAX_BATCH = 500;
+    private static final long SSE_HEARTBEAT_SECONDS = 15;
+    private static final long SSE_RETRY_MILLIS = 1000; // how soon clients reconnect
+
+    private final Game game;
+    private final StorageService storage;     // saves also update the stats
+    private final StatsStorageService stats;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final EventBus events = new EventBus();
+    private final ProfileCache cache; // one live copy per profile, saved behind the response
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ApiServer(Game game, StorageService storage, InetSocketAddress address) throws IOException {
+        this.game = game;
+        this.stats = new StatsStorageService(storage, new ProfileStats(game));
+        this.storage = stats;
+        // live profiles publish their changes as they come into the cache
+        this.cache = new ProfileCache(this.storage, Runtime.getRuntime().availableProcessors(),
+            live -> events.attach(live.getPlayerId(), live.getOrCreateGameProgress(game.getId())));
+        this.server = HttpServer.create(address, 0);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "http-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        Thread seed = new Thread(stats::seed, "stats-seed");
+        seed.setDaemon(true);
+        seed.start();
+    }
+
+    // finish what's in flight (up to a second), save everything, then stop
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cache.close();
+    }
+
+    // wait until every change made so far is saved
+    public void flush() {
+        cache.flush();
+    }
+
+    // the port actually bound (useful after asking for port 0)
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // -- routing --
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                JsonNode body = route(exchange);
+                if (body != null) { // null = already answered (event streams)
+                    send(exchange, 200, body);
+                }
+            } catch (ApiException e) {
+                send(exchange, e.status, error(e.getMessage()));
+            } catch (StorageException e) {
+                send(exchange, 500, error(e.getMessage()));
+            } catch (RuntimeException e) {
+                System.err.println("Warning: API request failed: " + e);
+                send(exchange, 500, error("internal error"));
+            }
+        }
+    }
+
+    private JsonNode route(HttpExchange exchange) throws IOException, StorageException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+
+        if (path[0].equals("stats") && path.length == 3) {
+            expect(method, "GET");
+            if (path[1].equals("leaderboards")) {
+                return leaderboard(path[2], query);
+            }
+            if (path[1].equals("galaxies")) {
+                return collectionRates(findGalaxy(path[2]), query);
+            }
+        }
+        if (!path[0].equals("profiles")) {
+            throw new ApiException(404, "no such endpoint");
+        }
+        if (path.length == 1) {
+            expect(method, "GET");
+            return listProfiles(query);
+        }
+
+        String playerId = id(path[1]);
+        if (path.length == 2) {
+            expect(method, "GET");
+            return profile(load(playerId));
+        }
+        String what = path[2];
+        if (what.equals("domes") && path.length == 3) {
+            expect(method, "GET");
+            PlayerProfile player = load(playerId);
+            return domes(player, mode(player, query));
+        }
+        if (what.equals("domes") && path.length == 4) {
+            expect(method, "GET");
+            PlayerProfile player = load(playerId);
+            return dome(player, mode(player, query), findDome(path[3]));
+        }
+        if (what.equals("galaxies") && path.length == 4) {
+            expect(method, "GET");
+            PlayerProfile player = load(playerId);
+            return galaxy(player, mode(player, query), findGalaxy(path[3]));
+        }
+        if (what.equals("events") && path.length == 3) {
+            expect(method, "GET");
+            requireProfile(playerId);
+            stream(exchange, playerId, lastEventId(exchange, query));
+            return null;
+        }
+        if (what.equals("stars") && path.length == 3) {
+            expect(method, "POST");
+            return updateStars(playerId, query, readBody(exchange));
+        }
+        if (what.equals("stars") && path.length == 4) {
+            expect(method, "POST");
+            return updateStar(playerId, query, path[3], readBody(exchange));
+        }
+        throw new ApiException(404, "no such endpoint");
+    }
+
+    // -- reads --
+
+    private JsonNode listProfiles(Map<String, String> query) {
+        ProfilePage page = storage.listProfiles(query.get("cursor"), limit(query));
+
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode profiles = result.putArray("profiles");
+        for (String playerId : page.getProfileIds()) {
+            ObjectNode entry = profiles.addObject().put("id", playerId);
+            try {
+                PlayerProfile player = cache.read(playerId);
+                entry.put("name", player.getDisplayName());
+                entry.put("stars", player.getTotalStarsCollected());
+            } catch (StorageException e) {
+                entry.put("error", e.getMessage()); // one bad file doesn't sink the list
+            }
+        }
+        result.put("nextCursor", page.getNextCursor());
+        return result;
+    }
+
+    private JsonNode profile(PlayerProfile player) {
+        GameProgress progress = progressOf(player);
+        ObjectNode result = mapper.createObjectNode();
+        result.put("id", player.getPlayerId());
+        result.put("name", player.getDisplayName());
+        result.put("mode", player.getCharacterMode().getId());
+        result.put("spoilers", player.isSpoilersEnabled());
+        result.put("starBits", player.getStarBits());
+        result.put("playTimeMinutes", player.getPlayTimeMinutes());
+        result.put("marioStars", player.getMarioStarCount(progress));
+        result.put("luigiStars", player.getLuigiStarCount(progress));
+        result.put("totalStars", player.getTotalStarsCollected());
+        result.put("luigiUnlocked", player.isLuigiModeUnlocked());
+        result.put("lastPlayed", String.valueOf(player.getLastPlayed()));
+        return result;
+    }
+
+    private JsonNode domes(PlayerProfile player, CharacterMode mode) {
+        GameProgress progress = progressOf(player);
+        ObjectNode result = mapper.createObjectNode();
+        result.put("mode", mode.getId());
+        ArrayNode domes = result.putArray("domes");
+        int collected = 0;
+        int total = 0;
+        for (Dome dome : game.getDomes()) {
+            int domeCollected = 0;
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                domeCollected += collected(galaxy, progress, mode);
+            }
+            completion(domes.addObject().put("id", dome.getId()).put("name", dome.getName()),
+                domeCollected, dome.getTotalItems());
+            collected += domeCollected;
+            total += dome.getTotalItems();
+        }
+        completion(result, collected, total);
+        return result;
+    }
+
+    private JsonNode dome(PlayerProfile player, CharacterMode mode, Dome dome) {
+        GameProgress progress = progressOf(player);
+        ObjectNode result = mapper.createObjectNode();
+        result.put("id", dome.getId()).put("name", dome.getName()).put("mode", mode.getId());
+        ArrayNode galaxies = result.putArray("galaxies");
+        int collected = 0;
+        for (Galaxy galaxy : dome.getGalaxies()) {
+            int galaxyCollected = collected(galaxy, progress, mode);
+            completion(galaxies.addObject().put("id", galaxy.getId()).put("name", galaxy.getName()),
+                galaxyCollected, galaxy.getTotalItems());
+            collected += galaxyCollected;
+        }
+        completion(result, collected, dome.getTotalItems());
+        return result;
+    }
+
+    private JsonNode galaxy(PlayerProfile player, CharacterMode mode, Galaxy galaxy) {
+        GameProgress progress = progressOf(player);
+        ObjectNode result = mapper.createObjectNode();
+        result.put("id", galaxy.getId()).put("name", galaxy.getName()).put("mode", mode.getId());
+        ArrayNode stars = result.putArray("stars");
+        for (Star star : galaxy.getStars()) {
+            stars.add(star(star, progress, mode));
+        }
+        completion(result, collected(galaxy, progress, mode), galaxy.getTotalItems());
+        return result;
+    }
+
+    // -- writes --
+
+    // only the fields given change - "rating": null clears the rating
+    private JsonNode updateStar(String playerId, Map<String, String> query, String starId,
+                                JsonNode body) throws StorageException {
+        Star star = game.findStarById(starId);
+        if (star == null) {
+            throw new ApiException(404, "no such star: " + starId);
+        }
+        if (!body.isObject()) {
+            throw new ApiException(400, "body must be a json object");
+        }
+        // everything checked before the profile is touched
+        JsonNode collected = collected(body);
+        JsonNode note = body.get("note");
+        JsonNode rating = rating(body);
+        requestedMode(query);
+        requireProfile(playerId);
+
+        return cache.update(playerId, player -> {
+            CharacterMode mode = mode(player, query);
+            GameProgress progress = player.getOrCreateGameProgress(game.getId());
+            ProgressTransaction change = progress.begin();
+            stage(change, mode.getStarPrefix() + starId, collected, note, rating);
+            // unlocks only ever come from collecting, like in the ui
+            ProgressTransaction.Result result = change.commit(game, player, mode);
+            events.publishUnlocks(playerId, mode.getStarPrefix(), result.getUnlocks());
+
+            player.updateLastPlayed();
+            return star(star, progress, mode);
+        });
+    }
+
+    // several stars in one go - every entry is checked first and then they
+    // all go in as one transaction: one unlock check, one save
+    private JsonNode updateStars(String playerId, Map<String, String> query, JsonNode body) throws StorageException {
+        if (!body.isArray()) {
+            throw new ApiException(400, "body must be a json array");
+        }
+        if (body.size() > MAX_BATCH) {
+            throw new ApiException(400, "at most " + MAX_BATCH + " stars at a time");
+        }
+        for (JsonNode entry : body) {
+            if (!entry.isObject() || !entry.path("star").isTextual()) {
+                throw new ApiException(400, "each entry needs a \"star\" id");
+            }
+            String starId = entry.get("star").asText();
+            if (game.findStarById(starId) == null) {
+                throw new ApiException(404, "no such star: " + starId);
+            }
+            collected(entry);
+            rating(entry);
+        }
+        requestedMode(query);
+        requireProfile(playerId);
+
+        return cache.update(playerId, player -> {
+            CharacterMode mode = mode(player, query);
+            GameProgress progress = player.getOrCreateGameProgress(game.getId());
+            ProgressTransaction batch = progress.begin();
+            for (JsonNode entry : body) {
+                stage(batch, mode.getStarPrefix() + entry.get("star").asText(),
+                    entry.get("collected"), entry.get("note"), entry.get("rating"));
+            }
+            ProgressTransaction.Result result = batch.commit(game, player, mode);
+            events.publishUnlocks(playerId, mode.getStarPrefix(), result.getUnlocks());
+            if (!result.isEmpty()) {
+                player.updateLastPlayed();
+            }
+
+            ObjectNode node = mapper.createObjectNode();
+            ArrayNode changes = node.putArray("changes");
+            for (ProgressTransaction.Change change : result.getChanges()) {
+                changes.addObject()
+                    .put("star", change.getStarId())
+                    .put("change", change.getKind().name().toLowerCase());
+            }
+            node.put("unlocks", result.getUnlocks().size());
+            return node;
+        });
+    }
+
+    private static void stage(ProgressTransaction change, String starId,
+                              JsonNode collected, JsonNode note, JsonNode rating) {
+        if (collected != null) {
+            if (collected.booleanValue()) {
+                change.collect(starId);
+            } else {
+                change.uncollect(starId);
+            }
+        }
+        if (note != null) {
+            change.note(starId, note.isNull() ? null : note.asText());
+        }
+        if (rating != null) {
+            change.rating(starId, rating.isNull() ? null : rating.intValue());
+        }
+    }
+
+    private static JsonNode collected(JsonNode body) {
+        JsonNode collected = body.get("collected");
+        if (collected != null && !collected.isBoolean()) {
+            throw new ApiException(400, "collected must be true or false");
+        }
+        return collected;
+    }
+
+    private static JsonNode rating(JsonNode body) {
+        JsonNode rating = body.get("rating");
+        if (rating != null && !rating.isNull() && (!rating.isInt() || rating.intValue() < 1 || rating.intValue() > 5)) {
+            throw new ApiException(400, "rating must be 1-5 or null");
+        }
+        return rating;
+    }
+
+    // -- stats --
+
+    private JsonNode leaderboard(String boardId, Map<String, String> query) {
+        ProfileStats.Board board = ProfileStats.Board.forId(boardId);
+        if (board == null) {
+            throw new ApiException(404, "no such leaderboard: " + boardId);
+        }
+        ObjectNode result = statsHeader();
+        result.put("board", board.getId());
+        ArrayNode top = result.putArray("top");
+        for (ProfileStats.Ranking ranking : stats.getStats().top(board, limit(query))) {
+            top.addObject()
+                .put("id", ranking.getPlayerId())
+                .put("name", ranking.getDisplayName())
+                .put(board == ProfileStats.Board.TIME_TO_COMPLETE ? "millis" : "stars", ranking.getScore());
+        }
+        return result;
+    }
+
+    private JsonNode collectionRates(Galaxy galaxy, Map<String, String> query) {
+        CharacterMode mode = requestedMode(query);
+        if (mode == null) {
+            mode = CharacterMode.MARIO;
+        }
+        ObjectNode result = statsHeader();
+        result.put("galaxy", galaxy.getId());
+        result.put("mode", mode.getId());
+        ObjectNode stars = result.putObject("stars");
+        for (Map.Entry<String, Double> rate : stats.getStats().getCollectionRates(galaxy, mode).entrySet()) {
+            stars.put(rate.getKey(), rate.getValue());
+        }
+        return result;
+    }
+
+    private ObjectNode statsHeader() {
+        ObjectNode result = mapper.createObjectNode();
+        result.put("profiles", stats.getStats().getProfileCount());
+        result.put("seeded", stats.isSeeded());
+        return result;
+    }
+
+    // -- events --
+
+    // server-sent events until the client goes away or falls too far behind
+    // each event goes out and is flushed the moment it's published. a client
+    // that reconnects with Last-Event-ID gets what it missed first - or a
+    // "reset" event if that's gone too, meaning fetch everything again
+    private void stream(HttpExchange exchange, String playerId, long lastEventId) throws IOException {
+        // subscribed before the 200 goes out - a client that changes something
+        // as soon as it sees the response still gets that change
+        try (EventBus.Subscription subscription = events.subscribe(playerId, lastEventId, EventBus.DEFAULT_CAPACITY)) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            write(out, "retry: " + SSE_RETRY_MILLIS + "\n\n");
+            if (subscription.hasMissedEvents()) {
+                write(out, "event: reset\ndata: {}\n\n");
+            }
+            while (true) {
+                ProgressEvent event = subscription.poll(SSE_HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                if (event != null) {
+                    write(out, "id: " + event.getId() + "\nevent: " + event.getType()
+                        + "\ndata: " + mapper.writeValueAsString(event) + "\n\n");
+                } else if (subscription.isOverflowed()) {
+                    return; // too slow - it reconnects and resumes from its last id
+                } else {
+                    write(out, ": keep-alive\n\n"); // also finds out if the client left
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void write(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static long lastEventId(HttpExchange exchange, Map<String, String> query) {
+        String id = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        if (id == null) {
+            id = query.get("lastEventId");
+        }
+        if (id == null || id.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "bad Last-Event-ID");
+        }
+    }
+
+    // -- helpers --
+
+    // reads only - snapshots are shared, so no getStarProgress (it adds missing stars)
+    private ObjectNode star(Star star, GameProgress progress, CharacterMode mode) {
+        StarProgress sp = progress.getAllStarProgress().get(mode.getStarPrefix() + star.getId());
+        ObjectNode node = mapper.createObjectNode();
+        node.put("id", star.getId());
+        node.put("name", star.getName());
+        node.put("type", star.getType().name().toLowerCase());
+        node.put("collected", sp != null && sp.isCollected());
+        node.put("collectedAt", sp == null || sp.getCollectedAt() == null ? null : sp.getCollectedAt().toString());
+        node.put("note", sp == null ? null : sp.getNote());
+        node.put("rating", sp == null ? null : sp.getDifficultyRating());
+        return node;
+    }
+
+    private static int collected(Galaxy galaxy, GameProgress progress, CharacterMode mode) {
+        String prefix = mode.getStarPrefix();
+        int count = 0;
+        for (Star star : galaxy.getStars()) {
+            if (progress.isStarCollected(prefix + star.getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void completion(ObjectNode node, int collected, int total) {
+        node.put("collected", collected);
+        node.put("total", total);
+        node.put("percent", total > 0 ? Math.round(collected * 1000.0 / total) / 10.0 : 0);
+    }
+
+    // a profile that never played gets an empty stand-in, not one added to it
+    private GameProgress progressOf(PlayerProfile player) {
+        GameProgress progress = player.getGameProgress(game.getId());
+        return progress != null ? progress : new GameProgress(game.getId());
+    }
+
+    // the cached snapshot - shared, so only read it
+    private PlayerProfile load(String playerId) throws StorageException {
+        requireProfile(playerId);
+        return cache.read(playerId);
+    }
+
+    private void requireProfile(String playerId) {
+        if (!cache.isCached(playerId) && !storage.profileExists(playerId)) {
+            throw new ApiException(404, "no such profile: " + playerId);
+        }
+    }
+
+    private Dome findDome(String domeId) {
+        Dome dome = game.getDomeById(domeId);
+        if (dome == null) {
+            throw new ApiException(404, "no such dome: " + domeId);
+        }
+        return dome;
+    }
+
+    private Galaxy findGalaxy(String galaxyId) {
+        for (Dome dome : game.getDomes()) {
+            Galaxy galaxy = dome.getGalaxyById(galaxyId);
+            if (galaxy != null) {
+                return galaxy;
+            }
+        }
+        throw new ApiException(404, "no such galaxy: " + galaxyId);
+    }
+
+    private static CharacterMode mode(PlayerProfile player, Map<String, String> query) {
+        CharacterMode mode = requestedMode(query);
+        return mode != null ? mode : player.getCharacterMode();
+    }
+
+    // ?mode=, or null if not given
+    private static CharacterMode requestedMode(Map<String, String> query) {
+        String mode = query.get("mode");
+        if (mode == null) {
+            return null;
+        }
+        for (CharacterMode m : CharacterMode.values()) {
+            if (m.getId().equalsIgnoreCase(mode)) {
+                return m;
+            }
+        }
+        throw new ApiException(400, "mode must be mario or luigi");
+    }
+
+    private static int limit(Map<String, String> query) {
+        if (!query.containsKey("limit")) {
+            return DEFAULT_PAGE;
+        }
+        try {
+            return Math.max(1, Math.min(MAX_PAGE, Integer.parseInt(query.get("limit"))));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "limit must be a number");
+        }
+    }
+
+    private static String id(String playerId) {
+        if (!ID.matcher(playerId).matches()) {
+            throw new ApiException(400, "bad profile id");
+        }
+        return playerId;
+    }
+
+    private static void expect(String method, String allowed) {
+        if (!method.equals(allowed)) {
+            throw new ApiException(405, "use " + allowed);
+        }
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) {
+                return mapper.createObjectNode();
+            }
+            try {
+                return mapper.readTree(bytes);
+            } catch (IOException e) {
+                throw new ApiException(400, "body is not json");
+            }
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private ObjectNode error(String message) {
+        return mapper.createObjectNode().put("error", message);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // a request we won't serve, with the status to say so
+    private static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.completionist.stats;
+
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.StarProgress;
+import com.completionist.progress.UnlockSweep;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// leaderboards and collection rates across every profile, for one game
+// kept up to date one profile at a time (see StatsStorageService): a save
+// swaps that profile's old numbers for its new ones, nothing is rescanned
+//
+// each board is a sorted set, so a change is O(log n) and the top k is
+// O(log n + k). star counts only move by the stars that changed
+// thread safe - saves come from several threads
+public class ProfileStats {
+    private final String gameId;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Board, TreeSet<Entry>> boards = new EnumMap<>(Board.class);
+    private final Map<String, Integer> collectors = new HashMap<>(); // star id -> profiles that have it
+    private Set<String> deleted = new HashSet<>(); // while seeding - so a late seed can't bring one back
+
+    // what profiles are ranked by - best first
+    public enum Board {
+        TOTAL("total"),           // every star, both characters, green stars too
+        MARIO("mario"),
+        LUIGI("luigi"),
+        TIME_TO_COMPLETE("time-to-complete"); // first star to 100%, only profiles that got there
+
+        private final String id;
+
+        Board(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Board forId(String id) {
+            for (Board board : values()) {
+                if (board.id.equalsIgnoreCase(id)) {
+                    return board;
+                }
+            }
+            return null;
+        }
+    }
+
+    // one place on a board
+    public static final class Ranking {
+        private final String playerId;
+        private final String displayName;
+        private final long score;
+
+        Ranking(String playerId, String displayName, long score) {
+            this.playerId = playerId;
+            this.displayName = displayName;
+            this.score = score;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        // stars, or milliseconds for TIME_TO_COMPLETE
+        public long getScore() {
+            return score;
+        }
+    }
+
+    public ProfileStats(Game game) {
+        this.gameId = game.getId();
+        Comparator<Entry> byId = Comparator.comparing(entry -> entry.playerId);
+        boards.put(Board.TOTAL, new TreeSet<>(Comparator.comparingInt((Entry entry) -> -entry.total).thenComparing(byId)));
+        boards.put(Board.MARIO, new TreeSet<>(Comparator.comparingInt((Entry entry) -> -entry.mario).thenComparing(byId)));
+        boards.put(Board.LUIGI, new TreeSet<>(Comparator.comparingInt((Entry entry) -> -entry.luigi).thenComparing(byId)));
+        boards.put(Board.TIME_TO_COMPLETE, new TreeSet<>(Comparator.comparingLong((Entry entry) -> entry.completeMillis).thenComparing(byId)));
+    }
+
+    // a profile was saved - replace what we had for it
+    // (summed up before taking the lock, it only reads the profile)
+    public void update(PlayerProfile profile) {
+        Entry next = summarize(profile);
+        synchronized (this) {
+            replace(profile.getPlayerId(), next);
+        }
+    }
+
+    // a profile seen while first filling the stats - skipped if a save got
+    // here first, since that one is newer, or if it's been deleted since
+    public void seed(PlayerProfile profile) {
+        Entry next = summarize(profile);
+        synchronized (this) {
+            String playerId = profile.getPlayerId();
+            if (deleted != null && !deleted.contains(playerId) && !entries.containsKey(playerId)) {
+                replace(playerId, next);
+            }
+        }
+    }
+
+    // the first fill is over - deletes don't need remembering any more
+    public synchronized void seeded() {
+        deleted = null;
+    }
+
+    // a profile was deleted
+    public synchronized void remove(String playerId) {
+        replace(playerId, null);
+        if (deleted != null) {
+            deleted.add(playerId);
+        }
+    }
+
+    public synchronized int getProfileCount() {
+        return entries.size();
+    }
+
+    // best k on a board
+    public synchronized List<Ranking> top(Board board, int k) {
+        List<Ranking> top = new ArrayList<>(Math.min(k, entries.size()));
+        Iterator<Entry> it = boards.get(board).iterator();
+        while (top.size() < k && it.hasNext()) {
+            Entry entry = it.next();
+            top.add(new Ranking(entry.playerId, entry.displayName, entry.score(board)));
+        }
+        return top;
+    }
+
+    // how many profiles are on a board (time-to-complete only has finishers)
+    public synchronized int getBoardSize(Board board) {
+        return boards.get(board).size();
+    }
+
+    // share of profiles that collected this star (prefixed id for luigi), 0-1
+    public synchronized double getCollectionRate(String starId) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        return collectors.getOrDefault(starId, 0) / (double) entries.size();
+    }
+
+    // each star in a galaxy for a character, in catalog order
+    public synchronized Map<String, Double> getCollectionRates(Galaxy galaxy, CharacterMode mode) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (Star star : galaxy.getStars()) {
+            rates.put(star.getId(), getCollectionRate(mode.getStarPrefix() + star.getId()));
+        }
+        return rates;
+    }
+
+    // one profile's counts, if it's been seen - null otherwise
+    public synchronized Integer getTotalStars(String playerId) {
+        Entry entry = entries.get(playerId);
+        return entry == null ? null : entry.total;
+    }
+
+    private void replace(String playerId, Entry next) {
+        Entry last = next == null ? entries.remove(playerId) : entries.put(playerId, next);
+        Set<String> before = Collections.emptySet();
+        if (last != null) {
+            for (TreeSet<Entry> board : boards.values()) {
+                board.remove(last);
+            }
+            before = last.collected;
+        }
+        Set<String> after = Collections.emptySet();
+        if (next != null) {
+            for (Map.Entry<Board, TreeSet<Entry>> board : boards.entrySet()) {
+                if (board.getKey() != Board.TIME_TO_COMPLETE || next.completeMillis >= 0) {
+                    board.getValue().add(next);
+                }
+            }
+            after = next.collected;
+        }
+
+        // only the stars that changed hands
+        for (String starId : before) {
+            if (!after.contains(starId)) {
+                collectors.computeIfPresent(starId, (id, count) -> count == 1 ? null : count - 1);
+            }
+        }
+        for (String starId : after) {
+            if (!before.contains(starId)) {
+                collectors.merge(starId, 1, Integer::sum);
+            }
+        }
+    }
+
+    private Entry summarize(PlayerProfile profile) {
+        GameProgress progress = profile.getGameProgress(gameId);
+        if (progress == null) {
+            progress = new GameProgress(gameId);
+        }
+        Set<String> collected = new HashSet<>();
+        LocalDateTime last = null;
+        for (StarProgress sp : progress.getAllStarProgress().values()) {
+            if (sp.isCollected()) {
+                collected.add(sp.getStarId());
+                if (sp.getCollectedAt() != null && (last == null || sp.getCollectedAt().isAfter(last))) {
+                    last = sp.getCollectedAt();
+                }
+            }
+        }
+        int total = UnlockSweep.completionCount(profile, progress);
+        long completeMillis = -1;
+        if (total >= UnlockSweep.COMPLETE_STARS && last != null && progress.getStartedAt() != null) {
+            completeMillis = Math.max(0, Duration.between(progress.getStartedAt(), last).toMillis());
+        }
+        return new Entry(profile.getPlayerId(), profile.getDisplayName(), total,
+            profile.getMarioStarCount(progress), profile.getLuigiStarCount(progress), completeMillis, collected);
+    }
+
+    // one profile's numbers - never changed once made, so the boards can find it again
+    private static final class Entry {
+        final String playerId;
+        final String displayName;
+        final int total;
+        final int mario;
+        final int luigi;
+        final long completeMillis; // -1 = not 100% yet
+        final Set<String> collected;
+
+        Entry(String playerId, String displayName, int total, int mario, int luigi,
+              long completeMillis, Set<String> collected) {
+            this.playerId = playerId;
+            this.displayName = displayName;
+            this.total = total;
+            this.mario = mario;
+            this.luigi = luigi;
+            this.completeMillis = completeMillis;
+            this.collected = collected;
+        }
+
+        long score(Board board) {
+            return switch (board) {
+                case TOTAL -> total;
+                case MARIO -> mario;
+                case LUIGI -> luigi;
+                case TIME_TO_COMPLETE -> completeMillis;
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.completionist.stats;
+
+import com.completionist.progress.PlayerProfile;
+import com.completionist.storage.ProfilePage;
+import com.completionist.storage.StorageException;
+import com.completionist.storage.StorageService;
+
+import java.util.List;
+
+// storage that keeps a ProfileStats current - every save and delete that
+// goes through here updates it, right after it lands on disk
+public class StatsStorageService implements StorageService {
+    private static final int SEED_PAGE = 200;
+
+    private final StorageService storage;
+    private final ProfileStats stats;
+    private volatile boolean seeded;
+
+    public StatsStorageService(StorageService storage, ProfileStats stats) {
+        this.storage = storage;
+        this.stats = stats;
+    }
+
+    public ProfileStats getStats() {
+        return stats;
+    }
+
+    // read every profile once, for the stats to start from - the one full
+    // pass, run it off to the side. saves meanwhile are counted as usual
+    public void seed() {
+        String cursor = null;
+        do {
+            ProfilePage page = storage.listProfiles(cursor, SEED_PAGE);
+            for (String playerId : page.getProfileIds()) {
+                try {
+                    stats.seed(storage.loadProfile(playerId));
+                } catch (StorageException e) {
+                    System.err.println("Warning: Could not read profile for stats: " + e.getMessage());
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        stats.seeded();
+        seeded = true;
+    }
+
+    // false while seed() is still going - the stats only cover some profiles
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    @Override
+    public void saveProfile(PlayerProfile profile) throws StorageException {
+        storage.saveProfile(profile);
+        stats.update(profile);
+    }
+
+    @Override
+    public PlayerProfile loadProfile(String playerId) throws StorageException {
+        return storage.loadProfile(playerId);
+    }
+
+    @Override
+    public boolean profileExists(String playerId) {
+        return storage.profileExists(playerId);
+    }
+
+    @Override
+    public List<String> listProfiles() {
+        return storage.listProfiles();
+    }
+
+    @Override
+    public void deleteProfile(String playerId) throws StorageException {
+        storage.deleteProfile(playerId);
+        stats.remove(playerId);
+    }
+
+    @Override
+    public ProfilePage listProfiles(String cursor, int limit) {
+        return storage.listProfiles(cursor, limit);
+    }
+}
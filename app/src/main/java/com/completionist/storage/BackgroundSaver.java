@@ -0,0 +1,98 @@
+package com.completionist.storage;
+
+import com.completionist.progress.PlayerProfile;
+
+// saves on its own thread so a slow disk never holds up input
+// hand it a snapshot (PlayerProfile.snapshot()) - the live profile keeps
+// changing while the save runs. only the newest snapshot matters, so one
+// waiting behind a save in progress just gets replaced
+public class BackgroundSaver implements AutoCloseable {
+    private final StorageService storage;
+    private final Object lock = new Object();
+
+    private Thread thread;
+    private PlayerProfile pending;
+    private boolean saving;
+    private boolean closed;
+
+    public BackgroundSaver(StorageService storage) {
+        this.storage = storage;
+    }
+
+    // save this snapshot soon
+    public void save(PlayerProfile snapshot) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Saver is closed");
+            }
+            pending = snapshot;
+            start();
+            lock.notifyAll();
+        }
+    }
+
+    // wait until everything handed in so far is on disk
+    public void flush() {
+        synchronized (lock) {
+            while (pending != null || saving) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // finish what's queued, then stop - safe to call more than once
+    @Override
+    public void close() {
+        flush();
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::saveLoop, "profile-saver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void saveLoop() {
+        while (true) {
+            PlayerProfile snapshot;
+            synchronized (lock) {
+                while (pending == null && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending == null) {
+                    return; // closed and nothing left
+                }
+                snapshot = pending;
+                pending = null;
+                saving = true;
+            }
+
+            try {
+                storage.saveProfile(snapshot);
+            } catch (StorageException e) {
+                System.err.println("Warning: Could not save profile: " + e.getMessage());
+            } finally {
+                synchronized (lock) {
+                    saving = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.completionist.storage;
 
+import com.completionist.metrics.Metrics;
+import com.completionist.metrics.ProfileLoadEvent;
+import com.completionist.metrics.ProfileSaveEvent;
+import com.completionist.progress.GameProgress;
 import com.completionist.progress.PlayerProfile;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,10 +17,15 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-// saves to ./data/profiles/{id}.json
+// saves to ./data/profiles/{shard}/{id}.json
+// shard is two hex chars from the id hash so no folder gets huge
 public class JsonStorageService implements StorageService {
+    private static final String EXTENSION = ".json";
+    private static final int SHARD_COUNT = 256;
+
     private final Path profilesDir;
     private final ObjectMapper mapper;
 
@@ -34,6 +43,9 @@ public class JsonStorageService implements StorageService {
         } catch (IOException e) {
             System.err.println("Warning: Could not create profiles directory: " + e.getMessage());
         }
+
+        // old saves were all in one flat folder
+        migrateFlatLayout();
     }
 
     private ObjectMapper createObjectMapper() {
@@ -49,7 +61,12 @@ public class JsonStorageService implements StorageService {
     public void saveProfile(PlayerProfile profile) throws StorageException {
         Path profilePath = getProfilePath(profile.getPlayerId());
 
+        long start = Metrics.start();
+        ProfileSaveEvent event = new ProfileSaveEvent();
+        event.begin();
         try {
+            Files.createDirectories(profilePath.getParent());
+
             // backup existing file first
             if (Files.exists(profilePath)) {
                 Path backupPath = Paths.get(profilePath.toString() + ".bak");
@@ -58,8 +75,18 @@ public class JsonStorageService implements StorageService {
 
             // write the json
             mapper.writeValue(profilePath.toFile(), profile);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.playerId = profile.getPlayerId();
+                event.stars = countStars(profile);
+                event.bytes = Files.size(profilePath);
+                event.commit();
+            }
         } catch (IOException e) {
             throw new StorageException("Failed to save profile: " + profile.getPlayerId(), e);
+        } finally {
+            Metrics.SAVE.recordSince(start);
         }
     }
 
@@ -71,38 +98,92 @@ public class JsonStorageService implements StorageService {
             throw new StorageException("Profile not found: " + playerId);
         }
 
+        long start = Metrics.start();
+        ProfileLoadEvent event = new ProfileLoadEvent();
+        event.begin();
         try {
-            return mapper.readValue(profilePath.toFile(), PlayerProfile.class);
+            PlayerProfile profile = mapper.readValue(profilePath.toFile(), PlayerProfile.class);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.playerId = playerId;
+                event.bytes = Files.size(profilePath);
+                event.commit();
+            }
+            return profile;
         } catch (IOException e) {
             throw new StorageException("Failed to load profile: " + playerId, e);
+        } finally {
+            Metrics.LOAD.recordSince(start);
         }
     }
 
+    // star progress entries in every game - the size that drives save time
+    private static int countStars(PlayerProfile profile) {
+        int stars = 0;
+        for (GameProgress game : profile.getAllGameProgress().values()) {
+            stars += game.getAllStarProgress().size();
+        }
+        return stars;
+    }
+
     @Override
     public boolean profileExists(String playerId) {
         return Files.exists(getProfilePath(playerId));
     }
 
+    // every profile - walks all shards, use the paged version for big folders
     @Override
     public List<String> listProfiles() {
         List<String> profiles = new ArrayList<>();
+        for (String shard : listShards()) {
+            profiles.addAll(listShard(shard));
+        }
+        return profiles;
+    }
 
-        if (!Files.exists(profilesDir)) {
-            return profiles;
+    // cursor looks like "{shard}/{lastId}" - the last id handed out
+    // only touches the shards needed to fill this page
+    @Override
+    public ProfilePage listProfiles(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
         }
 
-        try (Stream<Path> paths = Files.list(profilesDir)) {
-            paths.filter(path -> path.toString().endsWith(".json"))
-                 .forEach(path -> {
-                     String fileName = path.getFileName().toString();
-                     String playerId = fileName.substring(0, fileName.length() - 5); // Remove .json
-                     profiles.add(playerId);
-                 });
-        } catch (IOException e) {
-            System.err.println("Warning: Could not list profiles: " + e.getMessage());
+        String startShard = "";
+        String afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            int slash = cursor.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Bad profile cursor: " + cursor);
+            }
+            startShard = cursor.substring(0, slash);
+            afterId = cursor.substring(slash + 1);
         }
 
-        return profiles;
+        // grab one extra so we know if there's another page
+        List<String> ids = new ArrayList<>(limit + 1);
+        String lastShard = null;
+        String lastId = null;
+        for (String shard : listShards()) {
+            int cmp = shard.compareTo(startShard);
+            if (cmp < 0) {
+                continue;
+            }
+
+            for (String id : listShard(shard)) {
+                if (cmp == 0 && afterId != null && id.compareTo(afterId) <= 0) {
+                    continue;
+                }
+                if (ids.size() == limit) {
+                    return new ProfilePage(ids, lastShard + "/" + lastId);
+                }
+                ids.add(id);
+                lastShard = shard;
+                lastId = id;
+            }
+        }
+        return new ProfilePage(ids, null);
     }
 
     @Override
@@ -126,7 +207,83 @@ public class JsonStorageService implements StorageService {
         }
     }
 
+    // move {id}.json (and its .bak) from the flat folder into shard folders
+    // safe to run every startup - does nothing once everything is moved
+    public int migrateFlatLayout() {
+        if (!Files.isDirectory(profilesDir)) {
+            return 0;
+        }
+
+        List<Path> flatFiles;
+        try (Stream<Path> paths = Files.list(profilesDir)) {
+            flatFiles = paths.filter(Files::isRegularFile)
+                             .filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                             .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not scan for old profiles: " + e.getMessage());
+            return 0;
+        }
+
+        int moved = 0;
+        for (Path flatFile : flatFiles) {
+            String fileName = flatFile.getFileName().toString();
+            String playerId = fileName.substring(0, fileName.length() - EXTENSION.length());
+            Path target = getProfilePath(playerId);
+            try {
+                Files.createDirectories(target.getParent());
+                Files.move(flatFile, target, StandardCopyOption.REPLACE_EXISTING);
+
+                Path flatBackup = Paths.get(flatFile.toString() + ".bak");
+                if (Files.exists(flatBackup)) {
+                    Files.move(flatBackup, Paths.get(target.toString() + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+                }
+                moved++;
+            } catch (IOException e) {
+                System.err.println("Warning: Could not migrate profile " + playerId + ": " + e.getMessage());
+            }
+        }
+        return moved;
+    }
+
+    // shard folder names, sorted - there are at most SHARD_COUNT of these
+    private List<String> listShards() {
+        if (!Files.isDirectory(profilesDir)) {
+            return List.of();
+        }
+
+        try (Stream<Path> paths = Files.list(profilesDir)) {
+            return paths.filter(Files::isDirectory)
+                        .map(path -> path.getFileName().toString())
+                        .filter(name -> name.length() == 2)
+                        .sorted()
+                        .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not list profiles: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // sorted ids in one shard
+    private List<String> listShard(String shard) {
+        try (Stream<Path> paths = Files.list(profilesDir.resolve(shard))) {
+            return paths.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(EXTENSION))
+                        .map(name -> name.substring(0, name.length() - EXTENSION.length()))
+                        .sorted()
+                        .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not list profiles: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // String.hashCode is fixed by the spec so shards stay put between runs
+    static String shardFor(String playerId) {
+        int bucket = Math.floorMod(playerId.hashCode(), SHARD_COUNT);
+        return Integer.toHexString(bucket | 0x100).substring(1);
+    }
+
     private Path getProfilePath(String playerId) {
-        return profilesDir.resolve(playerId + ".json");
+        return profilesDir.resolve(shardFor(playerId)).resolve(playerId + EXTENSION);
     }
 }
@@ -0,0 +1,314 @@
+package com.completionist.storage;
+
+import com.completionist.progress.PlayerProfile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// the profiles being worked on, shared by everyone serving them
+// PlayerProfile and friends aren't thread safe, so each cached profile has
+// one live copy that only changes under its stripe lock, and a snapshot of
+// it published after every change. reads just take the snapshot - no lock,
+// and never a half-made change
+//
+// locks are striped by player id: changes to different profiles almost
+// never wait on each other, and there's no lock over the whole cache.
+// saves happen behind the caller on a few saver threads, newest snapshot
+// wins when changes come faster than the disk
+//
+// profiles nobody has touched for a while are dropped, once their last
+// save is on disk - so a later load never reads an older file
+public class ProfileCache implements AutoCloseable {
+    private final StorageService storage;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final ExecutorService savers;
+    private final Consumer<PlayerProfile> onLoad;
+    private final long maxIdleNanos;
+    private final ScheduledExecutorService evictor;
+
+    private final Object idle = new Object();
+    private int unsaved; // saves scheduled and not done yet
+
+    // a change to one live profile, made while holding its lock
+    public interface Change<T> {
+        T apply(PlayerProfile live);
+    }
+
+    public static final Duration DEFAULT_MAX_IDLE = Duration.ofMinutes(10);
+
+    public ProfileCache(StorageService storage) {
+        this(storage, Runtime.getRuntime().availableProcessors(), profile -> { });
+    }
+
+    public ProfileCache(StorageService storage, int saverThreads) {
+        this(storage, saverThreads, profile -> { });
+    }
+
+    // onLoad sees each live profile as it comes into the cache, before
+    // anyone else - the place to hang listeners on it
+    public ProfileCache(StorageService storage, int saverThreads, Consumer<PlayerProfile> onLoad) {
+        this(storage, saverThreads, onLoad, DEFAULT_MAX_IDLE);
+    }
+
+    // maxIdle - how long a profile stays cached without being read or changed
+    public ProfileCache(StorageService storage, int saverThreads, Consumer<PlayerProfile> onLoad, Duration maxIdle) {
+        this.storage = storage;
+        this.onLoad = onLoad;
+        this.maxIdleNanos = maxIdle.toNanos();
+        // plenty of stripes per core so two busy profiles rarely share one
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 16 - 1) << 1;
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.savers = Executors.newFixedThreadPool(Math.max(1, saverThreads), task -> {
+            Thread thread = new Thread(task, "cache-saver-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // look a few times per idle period, but not more than every 10ms
+        long every = Math.max(TimeUnit.MILLISECONDS.toNanos(10), maxIdleNanos / 4);
+        evictor.scheduleWithFixedDelay(this::evictIdle, every, every, TimeUnit.NANOSECONDS);
+    }
+
+    // the profile as of its last change - shared, so don't change it
+    // loads it on first use
+    public PlayerProfile read(String playerId) throws StorageException {
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            entry = load(playerId);
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry.published;
+    }
+
+    // change a profile: runs with its lock held, then publishes the result
+    // and queues a save. a change that throws costs no copy and no save -
+    // check input before changing anything, since whatever it did to the
+    // live profile still goes out with the next change
+    public <T> T update(String playerId, Change<T> change) throws StorageException {
+        ReentrantLock lock = stripe(playerId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(playerId);
+            if (entry == null) {
+                entry = load(playerId);
+            }
+            entry.lastUsed = System.nanoTime();
+            T result;
+            try {
+                result = change.apply(entry.live);
+            } catch (RuntimeException e) {
+                entry.unpublished = true;
+                throw e;
+            }
+            publish(entry);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // start caching a profile that isn't in storage yet, and save it
+    public void add(PlayerProfile profile) {
+        String playerId = profile.getPlayerId();
+        ReentrantLock lock = stripe(playerId);
+        lock.lock();
+        try {
+            onLoad.accept(profile);
+            Entry entry = new Entry(profile);
+            entries.put(playerId, entry);
+            scheduleSave(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isCached(String playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // stop holding a profile - only once everything it changed is on disk,
+    // false (and still cached) if that isn't so yet
+    public boolean evict(String playerId) {
+        return evict(playerId, System.nanoTime() + 1);
+    }
+
+    // same, unless it was used again since usedBefore (nanoTime)
+    private boolean evict(String playerId, long usedBefore) {
+        ReentrantLock lock = stripe(playerId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(playerId);
+            if (entry == null) {
+                return true;
+            }
+            if (entry.lastUsed - usedBefore > 0) {
+                return false;
+            }
+            if (entry.unpublished) {
+                publish(entry); // goes next time round, after its save
+                return false;
+            }
+            // the saver holds the entry while it writes, and nothing new
+            // gets queued while we hold the stripe
+            synchronized (entry) {
+                if (entry.queued.get()) {
+                    return false;
+                }
+                if (entry.saveFailed) {
+                    scheduleSave(entry); // try again rather than lose it
+                    return false;
+                }
+                entries.remove(playerId);
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the evictor thread - drop what's been idle too long
+    private void evictIdle() {
+        long usedBefore = System.nanoTime() - maxIdleNanos;
+        for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+            if (cached.getValue().lastUsed - usedBefore < 0) {
+                evict(cached.getKey(), usedBefore);
+            }
+        }
+    }
+
+    // wait until every change so far is on disk
+    public void flush() {
+        synchronized (idle) {
+            while (unsaved > 0) {
+                try {
+                    idle.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // save what's left, then stop the saver threads
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        // live profiles a failed change left ahead of their snapshot
+        for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+            ReentrantLock lock = stripe(cached.getKey());
+            lock.lock();
+            try {
+                if (cached.getValue().unpublished) {
+                    publish(cached.getValue());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        flush();
+        savers.shutdown();
+        try {
+            savers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // loads under the stripe lock so two first reads don't both hit the disk
+    private Entry load(String playerId) throws StorageException {
+        ReentrantLock lock = stripe(playerId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(playerId);
+            if (entry == null) {
+                PlayerProfile profile = storage.loadProfile(playerId);
+                onLoad.accept(profile);
+                entry = new Entry(profile);
+                entries.put(playerId, entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // called with the stripe lock held
+    private void publish(Entry entry) {
+        entry.published = entry.live.snapshot();
+        entry.unpublished = false;
+        scheduleSave(entry);
+    }
+
+    // one save in the queue per profile - more changes before it runs ride along
+    private void scheduleSave(Entry entry) {
+        if (!entry.queued.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (idle) {
+            unsaved++;
+        }
+        savers.execute(() -> save(entry));
+    }
+
+    private void save(Entry entry) {
+        try {
+            // one save per profile at a time, and it takes the newest
+            // snapshot once it has the turn - an older one never lands last
+            synchronized (entry) {
+                entry.queued.set(false);
+                storage.saveProfile(entry.published);
+                entry.saveFailed = false;
+            }
+        } catch (StorageException e) {
+            entry.saveFailed = true;
+            System.err.println("Warning: Could not save profile: " + e.getMessage());
+        } finally {
+            synchronized (idle) {
+                unsaved--;
+                idle.notifyAll();
+            }
+        }
+    }
+
+    private ReentrantLock stripe(String playerId) {
+        int h = playerId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Entry {
+        final PlayerProfile live;            // only touched under the stripe lock
+        volatile PlayerProfile published;    // what readers and the saver see
+        boolean unpublished;                 // a change threw part way - live is ahead (stripe lock)
+        volatile long lastUsed = System.nanoTime();
+        volatile boolean saveFailed;         // the last save didn't make it - don't evict
+        final AtomicBoolean queued = new AtomicBoolean();
+
+        Entry(PlayerProfile profile) {
+            this.live = profile;
+            this.published = profile.snapshot();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.completionist.storage;
+
+import java.util.List;
+
+// one page of profile ids from listProfiles(cursor, limit)
+// pass getNextCursor() back in to get the page after this one
+public class ProfilePage {
+    private final List<String> profileIds;
+    private final String nextCursor;
+
+    public ProfilePage(List<String> profileIds, String nextCursor) {
+        this.profileIds = List.copyOf(profileIds);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<String> getProfileIds() {
+        return profileIds;
+    }
+
+    // null when this is the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return profileIds.isEmpty();
+    }
+}
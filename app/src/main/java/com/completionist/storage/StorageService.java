@@ -9,4 +9,8 @@ public interface StorageService {
     boolean profileExists(String playerId);
     List<String> listProfiles();
     void deleteProfile(String playerId) throws StorageException;
+
+    // one page of ids, cursor is null for the first page
+    // cost should be about one page, not the whole profile count
+    ProfilePage listProfiles(String cursor, int limit);
 }
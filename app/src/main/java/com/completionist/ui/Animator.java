@@ -0,0 +1,63 @@
+package com.completionist.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// runs time-based effects (toasts, color cycles) next to the input loop
+// while something is animating the loop waits for a key only until the
+// next frame is due and gets a TICK instead - so a frame never waits on a
+// keypress, and keys still get handled while an animation runs
+public class Animator {
+    public static final long FRAME_MILLIS = 50; // 20 frames a second is plenty for text
+
+    // one effect - adds this frame's lines to the buffer
+    public interface Animation {
+        // false once it's done (it's dropped then)
+        boolean draw(ScreenBuffer buffer, long elapsedMillis);
+    }
+
+    private final List<Animation> animations = new ArrayList<>();
+    private final List<Long> startTimes = new ArrayList<>();
+    private long lastFrame;
+
+    // start an animation now, on top of any already running
+    public void start(Animation animation) {
+        animations.add(animation);
+        startTimes.add(now());
+    }
+
+    public boolean isAnimating() {
+        return !animations.isEmpty();
+    }
+
+    // draw every running animation into this frame, dropping finished ones
+    public void draw(ScreenBuffer buffer) {
+        long now = now();
+        for (int i = 0; i < animations.size(); i++) {
+            if (!animations.get(i).draw(buffer, now - startTimes.get(i))) {
+                animations.remove(i);
+                startTimes.remove(i);
+                i--;
+            }
+        }
+        lastFrame = now;
+    }
+
+    // how long to wait for a key before the next frame is due
+    public long millisUntilNextFrame() {
+        return Math.max(1, lastFrame + FRAME_MILLIS - now());
+    }
+
+    // stop one animation early (screens that animate until a key comes in)
+    public void stop(Animation animation) {
+        int i = animations.indexOf(animation);
+        if (i >= 0) {
+            animations.remove(i);
+            startTimes.remove(i);
+        }
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1_000_000L;
+    }
+}
@@ -63,6 +63,11 @@ public class ConsoleColors {
         return color + text + RESET;
     }
 
+    // same as colored() but appends to a builder instead of making a new string
+    public static StringBuilder appendColored(StringBuilder out, CharSequence text, String color) {
+        return out.append(color).append(text).append(RESET);
+    }
+
     // color without reset (for chaining)
     public static String coloredNoReset(String text, String color) {
         return color + text;
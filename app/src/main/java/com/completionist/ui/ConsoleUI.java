@@ -1,13 +1,10 @@
 package com.completionist.ui;
 
+import com.completionist.metrics.Metrics;
 import com.completionist.model.*;
 import com.completionist.progress.*;
 import com.completionist.storage.*;
 import org.jline.terminal.Terminal;
-import org.jline.terminal.TerminalBuilder;
-import org.jline.reader.LineReader;
-import org.jline.reader.LineReaderBuilder;
-import org.jline.utils.NonBlockingReader;
 import java.io.IOException;
 import static com.completionist.ui.ConsoleUtils.*;
 import static com.completionist.ui.ConsoleColors.*;
@@ -17,19 +14,45 @@ public class ConsoleUI {
     private final Game game;
     private final PlayerProfile player;
     private final GameProgress progress;
+    private final ProgressView view; // cached list rows, rebuilt on progress events
     private final Terminal terminal;
-    private final LineReader lineReader;
+    private final TerminalSession session;
     private final StorageService storage;
+    private final BackgroundSaver saver; // saves while the ui keeps going
+    private final Animator animator = new Animator(); // toasts and such, drawn over whatever screen is up
+    private MetricsOverlay metricsOverlay; // null while hidden
+    private boolean metricsWereOn;
     private boolean running;
     private final java.util.List<String> unlockNotifications;
     private boolean luigiUnlockPopupShown = false; // Track if we've shown the Luigi unlock popup this session
     private boolean completionPopupShown = false; // Track if we've shown the 100% completion popup this session
 
-    public ConsoleUI(Game game, PlayerProfile player, StorageService storage) {
+    // list rows get built in here and handed to the screen buffer, so
+    // redrawing a list doesn't go through String.format for every row
+    private final StringBuilder row = new StringBuilder(256);
+    private static final String SELECTED_PREFIX = colored("→ ", CYAN);
+
+    private static final long LUIGI_TOAST_MILLIS = 6000;
+    private static final long PLAY_TIME_TOAST_MILLIS = 2000;
+    private static final char OVERLAY_KEY = '`'; // not in any hint - it's for us
+    private static final long RAINBOW_STEP_MILLIS = 150; // how fast the 100% screen colors cycle
+
+    // runs on the terminal it's given - a real one, or an in-memory one for headless runs
+    public ConsoleUI(Game game, PlayerProfile player, StorageService storage, Terminal terminal) {
+        this(game, player, storage, new TerminalSession(terminal));
+    }
+
+    // carries on in a session that's already open (the profile picker's),
+    // so the terminal and its key reader are only set up once
+    public ConsoleUI(Game game, PlayerProfile player, StorageService storage, TerminalSession session) {
         this.game = game;
         this.player = player;
         this.progress = player.getOrCreateGameProgress(game.getId());
+        this.view = new ProgressView(player, game, progress);
         this.storage = storage;
+        this.terminal = session.getTerminal();
+        this.session = session;
+        this.saver = new BackgroundSaver(storage);
         this.running = true;
         this.unlockNotifications = new java.util.ArrayList<>();
         
@@ -38,43 +61,33 @@ public class ConsoleUI {
         this.luigiUnlockPopupShown = player.getCharacterMode() == CharacterMode.LUIGI ||
                                       player.getLuigiStarCount(progress) > 0;
         
-        // Don't show 100% completion popup if player already has 248 stars
+        // Don't show 100% completion popup if player is already at 100%
         // (they've already seen it in a previous session)
-        this.completionPopupShown = getTotalStarsCollected() >= 248;
+        this.completionPopupShown = isGameComplete();
 
-        // Initialize JLine3 terminal with better macOS support
-        try {
-            this.terminal = TerminalBuilder.builder()
-                .system(true)
-                .jna(true)  // Enable JNA for better native terminal support on macOS
-                .jansi(true)
-                .dumb(false)  // Force non-dumb terminal
-                .build();
-
-            this.lineReader = LineReaderBuilder.builder()
-                .terminal(terminal)
-                .build();
-                
-            // Log terminal info for debugging (can be removed later)
-            System.err.println("Terminal type: " + terminal.getType());
-            System.err.println("Terminal supports ANSI: " + (terminal.getType().indexOf("dumb") < 0));
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to initialize terminal", e);
-        }
+        // frames go out through the terminal's stream in one write each
+        ScreenBuffer.setOutput(terminal.output());
 
-        // Add shutdown hook to save on abrupt termination (e.g., VS Code stop)
+        // Update last played timestamp
+        player.updateLastPlayed();
+    }
+
+    public ConsoleUI(Game game, PlayerProfile player, StorageService storage) {
+        this(game, player, storage, TerminalSession.openSystemTerminal());
+        saveOnShutdown();
+    }
+
+    // Add shutdown hook to save on abrupt termination (e.g., VS Code stop)
+    public void saveOnShutdown() {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             try {
-                showCursor();  // Make sure cursor is visible on exit
+                session.close();  // Make sure cursor is visible and echo is back on exit
+                saver.close();    // let a save in progress finish first
                 storage.saveProfile(player);
             } catch (StorageException e) {
                 System.err.println("Error saving on shutdown: " + e.getMessage());
             }
         }));
-
-        // Update last played timestamp
-        player.updateLastPlayed();
     }
 
     // -- character mode stuff --
@@ -86,154 +99,44 @@ public class ConsoleUI {
 
     // how many stars does current character have
     private int getCurrentModeStarCount() {
-        if (player.getCharacterMode() == CharacterMode.MARIO) {
-            return player.getMarioStarCount(progress);
-        } else {
-            return player.getLuigiStarCount(progress);
-        }
+        return UnlockSweep.modeStarCount(player, progress, player.getCharacterMode());
     }
 
     // total stars both characters - 248 for 100% completion
-    // (121 mario + 121 luigi + 3 mario green + 3 luigi green)
     private int getTotalStarsCollected() {
-        int marioStars = player.getMarioStarCount(progress);
-        int luigiStars = player.getLuigiStarCount(progress);
-        GreenStarsUnlockCondition greenCondition = new GreenStarsUnlockCondition();
-        int marioGreenStars = greenCondition.getCollectedCount(progress, CharacterMode.MARIO);
-        int luigiGreenStars = greenCondition.getCollectedCount(progress, CharacterMode.LUIGI);
-        return marioStars + luigiStars + marioGreenStars + luigiGreenStars;
+        return UnlockSweep.completionCount(player, progress);
     }
 
     // 100% = 248 stars
     private boolean isGameComplete() {
-        return getTotalStarsCollected() >= 248;
-    }
-
-    // count stars in a galaxy for current character
-    private int countGalaxyStarsForMode(Galaxy galaxy, CharacterMode mode) {
-        String starPrefix = mode.getStarPrefix();
-        int count = 0;
-        for (Star star : galaxy.getStars()) {
-            String effectiveStarId = starPrefix + star.getId();
-            if (progress.isStarCollected(effectiveStarId)) {
-                count++;
-            }
-        }
-        return count;
-    }
-
-    // make a progress bar with character-appropriate colors
-    private String createModeProgressBar(int collected, int total, CharacterMode mode) {
-        double percentage = total > 0 ? (collected / (double) total) : 0;
-        int filled = (int) (percentage * 6);
-        int empty = 6 - filled;
-
-        String filledColor = mode == CharacterMode.LUIGI ? GREEN : PROGRESS_FILLED;
-        return colored("✦".repeat(Math.max(0, filled)), filledColor)
-             + colored("✧".repeat(Math.max(0, empty)), PROGRESS_EMPTY);
+        return getTotalStarsCollected() >= UnlockSweep.COMPLETE_STARS;
     }
 
     // check if unlock condition is met for current character
     private boolean isModeUnlockConditionMet(UnlockCondition condition) {
-        if (condition == null) {
-            return true;
-        }
-        
-        // Create a mode-aware progress wrapper for condition checking
-        // For TotalStarsCondition, use mode-specific count
-        if (condition instanceof TotalStarsCondition) {
-            TotalStarsCondition tsc = (TotalStarsCondition) condition;
-            return getCurrentModeStarCount() >= tsc.getRequiredStars();
-        }
-        
-        // For GrandFinaleUnlockCondition, check both Mario and Luigi stars
-        if (condition instanceof GrandFinaleUnlockCondition) {
-            GrandFinaleUnlockCondition gfCondition = (GrandFinaleUnlockCondition) condition;
-            return gfCondition.isMetForMode(progress, player.getCharacterMode());
-        }
-        
-        // For GreenStarsUnlockCondition, check mode-specific green stars
-        if (condition instanceof GreenStarsUnlockCondition) {
-            GreenStarsUnlockCondition gsCondition = (GreenStarsUnlockCondition) condition;
-            return gsCondition.isMetForMode(progress, player.getCharacterMode());
-        }
-        
-        // For CometUnlockCondition, check mode-specific stars
-        if (condition instanceof CometUnlockCondition) {
-            // Check total stars requirement
-            if (getCurrentModeStarCount() < 13) {
-                return false;
-            }
-            // The comet condition checks specific star IDs - we need mode-aware checking
-            return checkCometConditionForMode((CometUnlockCondition) condition);
-        }
-        
-        // For PurpleCometUnlockCondition, check mode-specific stars
-        if (condition instanceof PurpleCometUnlockCondition) {
-            String prefix = player.getCharacterMode().getStarPrefix();
-            return progress.isStarCollected(prefix + "bowser-galaxy-reactor-fate") &&
-                   progress.isStarCollected(prefix + "gateway-purple-coins");
-        }
-        
-        // Default: use original condition check
-        return condition.isMet(progress);
-    }
-
-    // check comet unlock for current character
-    // need 13+ stars AND required main stars collected
-    private boolean checkCometConditionForMode(CometUnlockCondition condition) {
-        // Check total stars requirement first
-        if (getCurrentModeStarCount() < 13) {
-            return false;
-        }
-        
-        // Check if required main stars are collected for this mode
-        String prefix = player.getCharacterMode().getStarPrefix();
-        for (String mainStarId : condition.getMainStarIds()) {
-            if (!progress.isStarCollected(prefix + mainStarId)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    // get star icon with right colors for character mode
-    // comets are always red, green stars always green
-    private String getModeStarIcon(Star star, boolean collected, CharacterMode mode) {
-        if (!collected) {
-            return colored("☆", STAR_UNCOLLECTED);
-        }
-
-        // Comet stars are always red when collected (regardless of mode)
-        if (star instanceof CometStar) {
-            return colored("☄", COMET_STAR);
-        }
-        
-        // Green stars are always bright green when collected (regardless of mode)
-        if (star instanceof GreenStar) {
-            return colored("✦", GREEN_STAR);
-        }
-
-        // Other stars use mode-based coloring
-        String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
-        
-        // Collected stars have different icons based on type
-        if (star instanceof SecretStar) {
-            return colored("✦", starColor);  // Secret star
-        } else {
-            return colored("⭑", starColor);  // Main star
-        }
+        return UnlockSweep.isMet(condition, player, progress, player.getCharacterMode());
     }
 
     // main loop - keep showing menu until user quits
     public void start() {
+        // the profile picker left its own frame behind
+        ScreenBuffer.invalidate();
+        // raw mode once for every screen, prompts switch to line mode themselves
+        session.enterRawMode();
         try {
             while (running) {
                 showMainMenu();
             }
         } finally {
-            // Save on exit
-            save();
+            // Save on exit - background saves first, then one last one here
+            saver.close();
+            try {
+                storage.saveProfile(player);
+            } catch (StorageException e) {
+                System.err.println(colored("Error saving profile: " + e.getMessage(), "\033[31m"));
+            }
+            view.close();
+            session.close();
             try {
                 terminal.close();
             } catch (IOException e) {
@@ -242,13 +145,9 @@ public class ConsoleUI {
         }
     }
 
-    // save to file
+    // save to file in the background - a copy, since play goes on meanwhile
     private void save() {
-        try {
-            storage.saveProfile(player);
-        } catch (StorageException e) {
-            System.err.println(colored("Error saving profile: " + e.getMessage(), "\033[31m"));
-        }
+        saver.save(player.snapshot());
     }
 
     // main menu - shows domes and options
@@ -284,139 +183,105 @@ public class ConsoleUI {
         menuOptionsList.add("Save & Exit");
         String[] menuOptions = menuOptionsList.toArray(new String[0]);
 
+        // icon + label part of each option row never changes
+        String[] menuLabels = new String[menuOptions.length];
+        for (int i = 0; i < menuOptions.length; i++) {
+            String icon = switch (menuOptions[i]) {
+                case "Browse Galaxies" -> "⋆˚꩜｡";
+                case "View Notes" -> "✉︎";
+                case "Settings" -> "⚙︎";
+                case "Save & Exit" -> "➥";
+                default -> "•";
+            };
+            menuLabels[i] = colored(icon, CYAN) + " " + menuOptions[i].toLowerCase();
+        }
+
         int selectedIndex = 0;
         int totalOptions = domes.size() + menuOptions.length;
 
-        var savedAttributes = terminal.enterRawMode();
-        // Completely disable echo in raw mode
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        hideCursor();
-        try {
-            while (true) {
-                ScreenBuffer buffer = new ScreenBuffer();
-                addTitleToBuffer(buffer, mode);
-                addPlayerInfoToBuffer(buffer, player, game, mode);
-                addDividerToBuffer(buffer);
-
-                // List all domes with mode-aware progress
-                for (int i = 0; i < domes.size(); i++) {
-                    String prefix = (i == selectedIndex) ? colored("→ ", CYAN) : "  ";
-                    String line = String.format("%s%d. %s", prefix, i + 1, formatDomeForMode(domes.get(i), progress, mode));
-                    buffer.addLine(line);
-                }
+        session.hideCursor();
+        ScreenBuffer buffer = new ScreenBuffer();
+        while (true) {
+            buffer.clear();
+            addTitleToBuffer(buffer, mode);
+            addPlayerInfoToBuffer(buffer, player, game, mode);
+            addDividerToBuffer(buffer);
 
-                addDividerToBuffer(buffer);
-
-                // Menu options
-                for (int i = 0; i < menuOptions.length; i++) {
-                    int optionIndex = domes.size() + i;
-                    String prefix = (optionIndex == selectedIndex) ? colored("→ ", CYAN) : "  ";
-
-                    String icon = switch (menuOptions[i]) {
-                        case "Browse Galaxies" -> "⋆˚꩜｡";
-                        case "View Notes" -> "✉︎";
-                        case "Settings" -> "⚙︎";
-                        case "Save & Exit" -> "➥";
-                        default -> "•";
-                    };
-                    String line = prefix + colored(icon, CYAN) + " " + menuOptions[i].toLowerCase();
-                    buffer.addLine(line);
-                }
+            // List all domes with mode-aware progress
+            for (int i = 0; i < domes.size(); i++) {
+                buffer.addLine(view.domeRow(domes.get(i), i, i == selectedIndex));
+            }
 
-                addDividerToBuffer(buffer);
-                
-                // Show hint to unlock Luigi mode if not yet unlocked
-                if (!player.isLuigiModeUnlocked()) {
-                    int marioStars = player.getMarioStarCount(progress);
-                    buffer.addLine(colored("collect " + (120 - marioStars) + " more stars to unlock luigi mode", DIM));
-                }
-                
-                String spaceHint = player.isSpoilersEnabled() ? " · space complete" : "";
-                String modeHint = player.isLuigiModeUnlocked() ? " · m/l switch" : "";
-                String completionHint = isGameComplete() ? " · w 100%" : "";
-                buffer.addLine("↑↓ navigate · enter select" + spaceHint + modeHint + completionHint + " · q quit");
-                addStarBufferLines(buffer);
-
-                buffer.printWithArt();
-                terminal.flush();
-
-                int key = readKey();
-
-                if (key == 27) { // ESC sequence
-                    int next1 = readKey();
-                    if (next1 == 91) { // '[' - arrow key
-                        int next2 = readKey();
-                        if (next2 == 65) { // Up arrow
-                            selectedIndex = (selectedIndex - 1 + totalOptions) % totalOptions;
-                        } else if (next2 == 66) { // Down arrow
-                            selectedIndex = (selectedIndex + 1) % totalOptions;
-                        }
-                    }
-                } else if (key == 10 || key == 13) { // Enter
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        if (selectedIndex < domes.size()) {
-                            showGalaxyList(domes.get(selectedIndex));
-                        } else {
-                            String selectedOption = menuOptions[selectedIndex - domes.size()];
-                            switch (selectedOption) {
-                                case "Browse Galaxies" -> {} // Just select dome
-                                case "View Notes" -> showNotes();
-                                case "Settings" -> showSettings();
-                                case "Save & Exit" -> { running = false; return; }
-                            }
-                            if (selectedOption.equals("Save & Exit")) break;
-                        }
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
-                    }
-                } else if (key == 'q' || key == 'Q') {
-                    running = false;
-                    return;
-                } else if (key == ' ' && player.isSpoilersEnabled() && selectedIndex < domes.size()) {
-                    // Space - autocomplete dome (spoiler mode only)
-                    autocompleteDome(domes.get(selectedIndex));
-                } else if ((key == 'l' || key == 'L') && player.isLuigiModeUnlocked()) {
-                    // L key - switch to Luigi mode
-                    if (player.getCharacterMode() != CharacterMode.LUIGI) {
-                        player.setCharacterMode(CharacterMode.LUIGI);
-                        mode = CharacterMode.LUIGI;
-                        save();
-                    }
-                } else if ((key == 'm' || key == 'M') && player.isLuigiModeUnlocked()) {
-                    // M key - switch to Mario mode
-                    if (player.getCharacterMode() != CharacterMode.MARIO) {
-                        player.setCharacterMode(CharacterMode.MARIO);
-                        mode = CharacterMode.MARIO;
-                        save();
+            addDividerToBuffer(buffer);
+
+            // Menu options
+            for (int i = 0; i < menuOptions.length; i++) {
+                int optionIndex = domes.size() + i;
+                row.setLength(0);
+                row.append(optionIndex == selectedIndex ? SELECTED_PREFIX : "  ").append(menuLabels[i]);
+                buffer.addLine(row);
+            }
+
+            addDividerToBuffer(buffer);
+            
+            // Show hint to unlock Luigi mode if not yet unlocked
+            if (!player.isLuigiModeUnlocked()) {
+                int marioStars = player.getMarioStarCount(progress);
+                buffer.addLine(colored("collect " + (120 - marioStars) + " more stars to unlock luigi mode", DIM));
+            }
+            
+            String spaceHint = player.isSpoilersEnabled() ? " · space complete" : "";
+            String modeHint = player.isLuigiModeUnlocked() ? " · m/l switch" : "";
+            String completionHint = isGameComplete() ? " · w 100%" : "";
+            buffer.addLine("↑↓ navigate · enter select" + spaceHint + modeHint + completionHint + " · q quit");
+            addStarBufferLines(buffer);
+
+            present(buffer);
+
+            KeyEvent key = nextKey();
+
+            if (key.getType() == KeyType.UP) {
+                // held keys arrive folded together, count says how far to move
+                selectedIndex = Math.floorMod(selectedIndex - key.getCount(), totalOptions);
+            } else if (key.getType() == KeyType.DOWN) {
+                selectedIndex = Math.floorMod(selectedIndex + key.getCount(), totalOptions);
+            } else if (key.getType() == KeyType.ENTER) {
+                if (selectedIndex < domes.size()) {
+                    showGalaxyList(domes.get(selectedIndex));
+                } else {
+                    String selectedOption = menuOptions[selectedIndex - domes.size()];
+                    switch (selectedOption) {
+                        case "Browse Galaxies" -> {} // Just select dome
+                        case "View Notes" -> showNotes();
+                        case "Settings" -> showSettings();
+                        case "Save & Exit" -> { running = false; return; }
                     }
-                } else if ((key == 'w' || key == 'W') && isGameComplete()) {
-                    // W key - view 100% completion screen (only if game is complete)
-                    show100PercentScreen();
+                    if (selectedOption.equals("Save & Exit")) break;
+                }
+            } else if (key.is('q') || key.getType() == KeyType.EOF) {
+                running = false;
+                return;
+            } else if (key.is(' ') && player.isSpoilersEnabled() && selectedIndex < domes.size()) {
+                // Space - autocomplete dome (spoiler mode only)
+                autocompleteDome(domes.get(selectedIndex));
+            } else if (key.is('l') && player.isLuigiModeUnlocked()) {
+                // L key - switch to Luigi mode
+                if (player.getCharacterMode() != CharacterMode.LUIGI) {
+                    player.setCharacterMode(CharacterMode.LUIGI);
+                    mode = CharacterMode.LUIGI;
+                    save();
                 }
+            } else if (key.is('m') && player.isLuigiModeUnlocked()) {
+                // M key - switch to Mario mode
+                if (player.getCharacterMode() != CharacterMode.MARIO) {
+                    player.setCharacterMode(CharacterMode.MARIO);
+                    mode = CharacterMode.MARIO;
+                    save();
+                }
+            } else if (key.is('w') && isGameComplete()) {
+                // W key - view 100% completion screen (only if game is complete)
+                show100PercentScreen();
             }
-        } finally {
-            terminal.setAttributes(savedAttributes);
-        }
-    }
-
-    // read a key in raw mode
-    private int readKey() {
-        try {
-            NonBlockingReader reader = terminal.reader();
-            return reader.read(100000); // wait up to 100 seconds
-        } catch (IOException e) {
-            return -1;
         }
     }
 
@@ -424,127 +289,44 @@ public class ConsoleUI {
     private void showGalaxyList(Dome dome) {
         var galaxies = dome.getGalaxies();
         var mode = player.getCharacterMode();
-        int selectedIndex = 0;
+        ViewportList list = new ViewportList(galaxies.size());
 
-        var savedAttributes = terminal.enterRawMode();
-        // Completely disable echo in raw mode
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        hideCursor();
-        try {
-            while (true) {
-                ScreenBuffer buffer = new ScreenBuffer();
-                addTitleToBuffer(buffer, mode);
+        session.hideCursor();
+        ScreenBuffer buffer = new ScreenBuffer();
+        while (true) {
+            buffer.clear();
+            addTitleToBuffer(buffer, mode);
 
-                // Dome header
-                buffer.addLine(formatDomeForMode(dome, progress, mode));
-                buffer.addEmptyLine();
-                addDividerToBuffer(buffer);
-
-                // List galaxies with mode-aware progress
-                for (int i = 0; i < galaxies.size(); i++) {
-                    String prefix = (i == selectedIndex) ? colored("→ ", CYAN) : "  ";
-                    Galaxy galaxy = galaxies.get(i);
-                    
-                    // Count mode-specific star collection
-                    int collected = countGalaxyStarsForMode(galaxy, mode);
-                    int total = galaxy.getTotalItems();
-
-                    // Check unlock status based on mode's star count
-                    int modeStarCount = getCurrentModeStarCount();
-                    boolean isUnlocked = galaxy.getUnlockCondition() == null ||
-                        (galaxy.getUnlockCondition() instanceof TotalStarsCondition &&
-                         modeStarCount >= ((TotalStarsCondition) galaxy.getUnlockCondition()).getRequiredStars());
-                    
-                    // Build unlock requirement bracket if exists (e.g. [✷ 1])
-                    // Padded to 6 chars for alignment: [✷XX] or [   ] for unlocked with no condition
-                    String unlockBracket = "      "; // 6 spaces for alignment
-                    if (galaxy.getUnlockCondition() != null && galaxy.getUnlockCondition() instanceof TotalStarsCondition) {
-                        TotalStarsCondition condition = (TotalStarsCondition) galaxy.getUnlockCondition();
-                        int stars = condition.getRequiredStars();
-                        // Format: [✷XX] where XX is right-aligned with padding
-                        String starsStr = String.format("%2d", stars);
-                        // Light blue (BRIGHT_CYAN) for completed requirements, yellow for incomplete
-                        String color = isUnlocked ? BRIGHT_CYAN : YELLOW;
-                        unlockBracket = colored("[✷" + starsStr + "]", color) + " ";
-                    }
+            // Dome header
+            buffer.addLine(view.domeHeader(dome));
+            buffer.addEmptyLine();
+            addDividerToBuffer(buffer);
 
-                    String line;
-                    if (!isUnlocked) {
-                        // Locked galaxy - show only [???]
-                        line = String.format("%s%s%s %s",
-                                prefix,
-                                unlockBracket,
-                                colored("꩜", DIM),
-                                colored("[???]", BRIGHT_YELLOW));
-                    } else {
-                        // Unlocked galaxy - show full info with mode colors
-                        // Pad galaxy name to consistent width (28 chars)
-                        String galaxyName = galaxy.getName().toUpperCase();
-                        String paddedName = String.format("%-24s", galaxyName);
-                        if (paddedName.length() > 24) {
-                            paddedName = paddedName.substring(0, 24);
-                        }
-                        
-                        String galaxyColor = mode == CharacterMode.LUIGI ? GREEN : GALAXY;
-                        String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
-                        
-                        line = String.format("%s%s%s [%s] %s  %s",
-                                prefix,
-                                unlockBracket,
-                                colored("꩜", galaxyColor),
-                                colored(paddedName, galaxyColor),
-                                createModeProgressBar(collected, total, mode),
-                                colored("★ " + collected + " / " + total, starColor));
-                    }
-                    buffer.addLine(line);
-                }
+            // List galaxies with mode-aware progress, only the ones on screen
+            int footerLines = 2;
+            list.render(buffer, ScreenBuffer.contentRows() - buffer.size() - footerLines, i -> 1,
+                (out, i, selected) -> out.addLine(view.galaxyRow(galaxies.get(i), i, selected)));
 
-                addDividerToBuffer(buffer);
-                String spaceHint = player.isSpoilersEnabled() ? " · space complete" : "";
-                buffer.addLine("↑↓ navigate · enter select" + spaceHint + " · b back");
-                addStarBufferLines(buffer);
+            addDividerToBuffer(buffer);
+            String spaceHint = player.isSpoilersEnabled() ? " · space complete" : "";
+            buffer.addLine("↑↓ navigate · enter select" + spaceHint + " · b back" + list.positionHint());
+            addStarBufferLines(buffer);
 
-                buffer.printWithArt();
-                terminal.flush();
+            present(buffer);
 
-                int key = readKey();
+            KeyEvent key = nextKey();
 
-                if (key == 27) { // ESC sequence
-                    int next1 = readKey();
-                    if (next1 == 91) { // '[' - arrow key
-                        int next2 = readKey();
-                        if (next2 == 65) { // Up arrow
-                            selectedIndex = (selectedIndex - 1 + galaxies.size()) % galaxies.size();
-                        } else if (next2 == 66) { // Down arrow
-                            selectedIndex = (selectedIndex + 1) % galaxies.size();
-                        }
-                    }
-                } else if (key == 10 || key == 13) { // Enter
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        showStarList(galaxies.get(selectedIndex));
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
-                    }
-                } else if (key == ' ' && player.isSpoilersEnabled()) {
-                    // Space - autocomplete galaxy (spoiler mode only)
-                    autocompleteGalaxy(galaxies.get(selectedIndex));
-                } else if (key == 'b' || key == 'B') {
-                    return;
-                }
+            if (list.handleKey(key)) {
+                continue; // moved (held keys arrive folded into one step)
+            }
+            if (key.getType() == KeyType.ENTER) {
+                showStarList(galaxies.get(list.getSelected()));
+            } else if (key.is(' ') && player.isSpoilersEnabled()) {
+                // Space - autocomplete galaxy (spoiler mode only)
+                autocompleteGalaxy(galaxies.get(list.getSelected()));
+            } else if (key.is('b') || key.getType() == KeyType.EOF) {
+                return;
             }
-        } finally {
-            terminal.setAttributes(savedAttributes);
         }
     }
 
@@ -552,172 +334,110 @@ public class ConsoleUI {
     private void showStarList(Galaxy galaxy) {
         var stars = galaxy.getStars();
         var mode = player.getCharacterMode();
-        int selectedIndex = 0;
+        ViewportList list = new ViewportList(stars.size());
+        boolean checkReveals = true;
 
-        var savedAttributes = terminal.enterRawMode();
-        // Completely disable echo in raw mode
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        hideCursor();
-        try {
-            while (true) {
-                ScreenBuffer buffer = new ScreenBuffer();
-                addTitleToBuffer(buffer, mode);
-
-                // Galaxy header with mode-aware counts
-                int collected = countGalaxyStarsForMode(galaxy, mode);
-                int total = galaxy.getTotalItems();
-                double percentage = total > 0 ? (collected * 100.0 / total) : 0;
+        session.hideCursor();
+        ScreenBuffer buffer = new ScreenBuffer();
+        while (true) {
+            // reveals only change when stars do, not every frame
+            if (checkReveals) {
+                revealUnlockedStars(stars);
+                checkReveals = false;
+            }
 
-                String galaxyColor = mode == CharacterMode.LUIGI ? GREEN : GALAXY;
-                String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
+            buffer.clear();
+            addTitleToBuffer(buffer, mode);
+
+            // Galaxy header with mode-aware counts
+            int collected = view.galaxyCollected(galaxy);
+            int total = galaxy.getTotalItems();
+            long percentage = total > 0 ? Math.round(collected * 100.0 / total) : 0;
+
+            String galaxyColor = mode == CharacterMode.LUIGI ? GREEN : GALAXY;
+            String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
+
+            row.setLength(0);
+            appendColored(row, "꩜", galaxyColor).append(" [");
+            appendColored(row, galaxy.getName().toUpperCase(), galaxyColor).append(']');
+            buffer.addLine(row);
+            buffer.addEmptyLine();
+            row.setLength(0);
+            row.append(starColor).append("★ ").append(collected).append(" / ").append(total).append(RESET);
+            row.append("                              ").append(percentage).append('%');
+            buffer.addLine(row);
+            row.setLength(0);
+            buffer.addLine(ProgressView.appendModeProgressBar(row.append("  "), collected, total, mode));
 
-                buffer.addLine(String.format("%s [%s]", colored("꩜", galaxyColor), colored(galaxy.getName().toUpperCase(), galaxyColor)));
-                buffer.addEmptyLine();
-                buffer.addLine(String.format("%s                              %.0f%%", colored("★ " + collected + " / " + total, starColor), percentage));
-                buffer.addLine("  " + createModeProgressBar(collected, total, mode));
-
-                addDividerToBuffer(buffer);
-
-                // List stars with mode-aware progress
-                for (int i = 0; i < stars.size(); i++) {
-                    Star star = stars.get(i);
-                    String effectiveStarId = getEffectiveStarId(star.getId());
-                    
-                    boolean isCollected = progress.isStarCollected(effectiveStarId);
-                    boolean isRevealed = progress.isStarRevealed(effectiveStarId);
-
-                    // Check if star has unlock condition and if it's met (using mode-aware star count)
-                    boolean hasUnlockCondition = star.getUnlockCondition() != null;
-                    boolean conditionMet = hasUnlockCondition && isModeUnlockConditionMet(star.getUnlockCondition());
-                    
-                    // Auto-reveal if condition is met
-                    if (conditionMet && !isRevealed) {
-                        progress.getStarProgress(effectiveStarId).setRevealed(true);
-                        isRevealed = true;
-                    }
+            addDividerToBuffer(buffer);
 
-                    // Star is visible if:
-                    // - It's not hidden by default, OR
-                    // - It has been manually revealed, OR
-                    // - It has an unlock condition that is now met, OR
-                    // - Spoilers are enabled
-                    boolean isVisible = !star.isHiddenByDefault() || isRevealed || conditionMet || player.isSpoilersEnabled();
-
-                    String prefix = (i == selectedIndex) ? colored("→ ", CYAN) : "  ";
-
-                    if (!isVisible) {
-                        // Hidden star (not unlocked yet or secret not revealed)
-                        String hiddenText = (star instanceof CometStar) ? formatLockedStar() : formatHiddenStar();
-                        buffer.addLine(String.format("%s%d. %s", prefix, i + 1, hiddenText));
-                    } else {
-                        // Visible star with mode-appropriate coloring
-                        String icon = getModeStarIcon(star, isCollected, mode);
-                        // Green Stars get bright green color when collected, regardless of mode
-                        String nameColor;
-                        if (isCollected && star instanceof GreenStar) {
-                            nameColor = GREEN_STAR;
-                        } else if (isCollected) {
-                            nameColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
-                        } else {
-                            nameColor = STAR_UNCOLLECTED;
-                        }
-                        buffer.addLine(String.format("%s%d. %s [%s]", prefix, i + 1, icon,
-                            colored(star.getName().toUpperCase(), nameColor)));
+            // footer goes under the list, so count it first
+            int footerLines = 3 + (unlockNotifications.isEmpty() ? 0 : unlockNotifications.size() + 1);
 
-                        // Show note if exists
-                        StarProgress sp = progress.getStarProgress(effectiveStarId);
-                        if (sp.getNote() != null && !sp.getNote().isEmpty()) {
-                            buffer.addLine(colored("   note: " + sp.getNote(), DIM));
-                        }
-                        if (sp.getDifficultyRating() != null) {
-                            buffer.addLine(colored("   difficulty: " + sp.getDifficultyStars(), DIM));
-                        }
-                    }
-                }
+            // List stars with mode-aware progress, only the ones on screen
+            list.render(buffer, ScreenBuffer.contentRows() - buffer.size() - footerLines,
+                i -> view.starRowLines(stars.get(i)),
+                (out, i, selected) -> view.addStarRows(out, stars.get(i), i, selected));
 
-                addDividerToBuffer(buffer);
+            addDividerToBuffer(buffer);
 
-                // Display unlock notifications if any
-                if (!unlockNotifications.isEmpty()) {
-                    for (String notification : unlockNotifications) {
-                        buffer.addLine(notification);
-                    }
-                    buffer.addEmptyLine();
+            // Display unlock notifications if any
+            if (!unlockNotifications.isEmpty()) {
+                for (String notification : unlockNotifications) {
+                    buffer.addLine(notification);
                 }
+                buffer.addEmptyLine();
+            }
 
-                buffer.addLine("↑↓ navigate · space toggle · r reveal");
-                buffer.addLine("n note · d difficulty · b back");
-                addStarBufferLines(buffer);
+            buffer.addLine("↑↓ navigate · space toggle · r reveal");
+            buffer.addLine("n note · d difficulty · b back" + list.positionHint());
+            addStarBufferLines(buffer);
 
-                buffer.printWithArt();
-                terminal.flush();
+            present(buffer);
 
-                int key = readKey();
+            KeyEvent key = nextKey();
 
-                if (key == 27) { // ESC sequence
-                    int next1 = readKey();
-                    if (next1 == 91) { // '[' - arrow key
-                        int next2 = readKey();
-                        if (next2 == 65) { // Up arrow
-                            selectedIndex = (selectedIndex - 1 + stars.size()) % stars.size();
-                        } else if (next2 == 66) { // Down arrow
-                            selectedIndex = (selectedIndex + 1) % stars.size();
-                        }
-                    }
-                } else if (key == ' ' || key == 10 || key == 13) { // Space or Enter - toggle star
-                    Star selectedStar = stars.get(selectedIndex);
-                    String effectiveId = getEffectiveStarId(selectedStar.getId());
-                    // Check if visible before toggling
-                    boolean canToggle = !selectedStar.isHiddenByDefault() ||
-                                      progress.isStarRevealed(effectiveId) ||
-                                      player.isSpoilersEnabled();
-                    if (canToggle) {
-                        toggleStar(selectedStar);
-                    }
-                } else if (key == 'r' || key == 'R') {
-                    // Reveal hidden star
-                    Star selectedStar = stars.get(selectedIndex);
-                    String effectiveId = getEffectiveStarId(selectedStar.getId());
-                    if (selectedStar.isHiddenByDefault() && !progress.isStarRevealed(effectiveId)) {
-                        progress.getStarProgress(effectiveId).setRevealed(true);
-                        save();
-                    }
-                } else if (key == 'n' || key == 'N') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        addNoteToStar(stars.get(selectedIndex));
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
-                    }
-                } else if (key == 'd' || key == 'D') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        setDifficulty(stars.get(selectedIndex));
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
-                    }
-                } else if (key == 'b' || key == 'B') {
-                    return;
+            if (list.handleKey(key)) {
+                continue; // moved (held keys arrive folded into one step)
+            }
+            Star selectedStar = stars.get(list.getSelected());
+            if (key.is(' ') || key.getType() == KeyType.ENTER) { // Space or Enter - toggle star
+                String effectiveId = getEffectiveStarId(selectedStar.getId());
+                // Check if visible before toggling
+                boolean canToggle = !selectedStar.isHiddenByDefault() ||
+                                  progress.isStarRevealed(effectiveId) ||
+                                  player.isSpoilersEnabled();
+                if (canToggle) {
+                    toggleStar(selectedStar);
+                    checkReveals = true;
+                }
+            } else if (key.is('r')) {
+                // Reveal hidden star
+                String effectiveId = getEffectiveStarId(selectedStar.getId());
+                if (selectedStar.isHiddenByDefault() && !progress.isStarRevealed(effectiveId)) {
+                    progress.getStarProgress(effectiveId).setRevealed(true);
+                    save();
                 }
+            } else if (key.is('n')) {
+                addNoteToStar(selectedStar);
+            } else if (key.is('d')) {
+                setDifficulty(selectedStar);
+            } else if (key.is('b') || key.getType() == KeyType.EOF) {
+                return;
+            }
+        }
+    }
+
+    // stars whose unlock condition is now met get revealed for this mode
+    private void revealUnlockedStars(java.util.List<Star> stars) {
+        for (Star star : stars) {
+            if (star.getUnlockCondition() == null) {
+                continue;
+            }
+            String effectiveStarId = getEffectiveStarId(star.getId());
+            if (!progress.isStarRevealed(effectiveStarId) && isModeUnlockConditionMet(star.getUnlockCondition())) {
+                progress.getStarProgress(effectiveStarId).setRevealed(true);
             }
-        } finally {
-            terminal.setAttributes(savedAttributes);
         }
     }
 
@@ -751,23 +471,10 @@ public class ConsoleUI {
         }
         
         // Toggle: if all collected, uncollect all; otherwise collect all
-        for (Star star : galaxy.getStars()) {
-            String effectiveId = getEffectiveStarId(star.getId());
-            StarProgress sp = progress.getStarProgress(effectiveId);
-            if (allCollected) {
-                sp.markUncollected();
-            } else {
-                if (!sp.isCollected()) {
-                    sp.markCollected();
-                }
-                if (star.isHiddenByDefault() && !sp.isRevealed()) {
-                    sp.setRevealed(true);
-                }
-            }
-        }
-        progress.touch();
-        checkForUnlocks();
-        save();
+        // one transaction, so the unlock rules and the save run once
+        ProgressTransaction batch = progress.begin();
+        stageAutocomplete(batch, galaxy, allCollected);
+        commitAutocomplete(batch);
     }
 
     // toggle all stars in dome (spoiler mode only)
@@ -788,33 +495,44 @@ public class ConsoleUI {
         }
         
         // Toggle: if all collected, uncollect all; otherwise collect all
+        ProgressTransaction batch = progress.begin();
         for (Galaxy galaxy : dome.getGalaxies()) {
-            for (Star star : galaxy.getStars()) {
-                String effectiveId = getEffectiveStarId(star.getId());
-                StarProgress sp = progress.getStarProgress(effectiveId);
-                if (allCollected) {
-                    sp.markUncollected();
-                } else {
-                    if (!sp.isCollected()) {
-                        sp.markCollected();
-                    }
-                    if (star.isHiddenByDefault() && !sp.isRevealed()) {
-                        sp.setRevealed(true);
-                    }
+            stageAutocomplete(batch, galaxy, allCollected);
+        }
+        commitAutocomplete(batch);
+    }
+
+    private void stageAutocomplete(ProgressTransaction batch, Galaxy galaxy, boolean allCollected) {
+        for (Star star : galaxy.getStars()) {
+            String effectiveId = getEffectiveStarId(star.getId());
+            if (allCollected) {
+                batch.uncollect(effectiveId);
+            } else {
+                batch.collect(effectiveId);
+                if (star.isHiddenByDefault()) {
+                    batch.reveal(effectiveId, true);
                 }
             }
         }
-        progress.touch();
-        checkForUnlocks();
+    }
+
+    private void commitAutocomplete(ProgressTransaction batch) {
+        CharacterMode mode = player.getCharacterMode();
+        ProgressTransaction.Result result = batch.commit(game, player, mode);
+        if (result.isEmpty()) {
+            return;
+        }
+        unlockNotifications.clear();
+        showMilestonePopups();
+        addUnlockNotifications(result.getUnlocks(), mode);
         save();
     }
 
     private void addNoteToStar(Star star) {
         try {
             clearScreen();
-            showCursor();
             String effectiveId = getEffectiveStarId(star.getId());
-            String note = lineReader.readLine("Enter note (or empty to clear): ").trim();
+            String note = session.readLine("Enter note (or empty to clear): ").trim();
             if (note.isEmpty()) {
                 progress.getStarProgress(effectiveId).setNote(null);
             } else {
@@ -830,9 +548,8 @@ public class ConsoleUI {
     private void setDifficulty(Star star) {
         try {
             clearScreen();
-            showCursor();
             String effectiveId = getEffectiveStarId(star.getId());
-            String input = lineReader.readLine("Enter difficulty (1-5, or 0 to clear): ").trim();
+            String input = session.readLine("Enter difficulty (1-5, or 0 to clear): ").trim();
             if (!input.isEmpty()) {
                 int difficulty = Integer.parseInt(input);
                 if (difficulty == 0) {
@@ -849,213 +566,167 @@ public class ConsoleUI {
     }
 
     private void showNotes() {
-        var savedAttributes = terminal.enterRawMode();
-        // Completely disable echo in raw mode
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        try {
-            clearScreen();
-            hideCursor();
+        clearScreen();
+        session.hideCursor();
 
-            CharacterMode mode = player.getCharacterMode();
-            String modePrefix = mode.getStarPrefix();
-            String themeColor = mode == CharacterMode.LUIGI ? LUIGI_THEME : CYAN;
-            String starColor = mode == CharacterMode.LUIGI ? LUIGI_STAR : STAR_COLLECTED;
+        CharacterMode mode = player.getCharacterMode();
+        String modePrefix = mode.getStarPrefix();
+        String themeColor = mode == CharacterMode.LUIGI ? LUIGI_THEME : CYAN;
+        String starColor = mode == CharacterMode.LUIGI ? LUIGI_STAR : STAR_COLLECTED;
+
+        // gather the notes once - each frame only formats the ones on screen
+        var noteStars = new java.util.ArrayList<Star>();
+        var noteTexts = new java.util.ArrayList<String>();
+        for (var entry : progress.getAllNotes().entrySet()) {
+            String storedId = entry.getKey();
+            // Filter notes by current mode
+            boolean matchesMode;
+            String baseStarId;
+            if (mode == CharacterMode.LUIGI) {
+                // In Luigi mode, only show notes with luigi- prefix
+                matchesMode = storedId.startsWith(modePrefix);
+                baseStarId = matchesMode ? storedId.substring(modePrefix.length()) : storedId;
+            } else {
+                // In Mario mode, only show notes without prefix
+                matchesMode = !storedId.startsWith("luigi-");
+                baseStarId = storedId;
+            }
+            
+            if (matchesMode) {
+                Star star = game.findStarById(baseStarId);
+                if (star != null) {
+                    noteStars.add(star);
+                    noteTexts.add(entry.getValue());
+                }
+            }
+        }
 
-            ScreenBuffer buffer = new ScreenBuffer();
+        ViewportList list = new ViewportList(noteStars.size());
+        ScreenBuffer buffer = new ScreenBuffer();
+        while (true) {
+            buffer.clear();
             addTitleToBuffer(buffer);
             buffer.addLine(colored("✉︎ YOUR NOTES (" + mode.getDisplayName().toUpperCase() + " MODE)", themeColor));
             addDividerToBuffer(buffer);
 
-            var notes = progress.getAllNotes();
-            boolean hasNotes = false;
-            
-            for (var entry : notes.entrySet()) {
-                String storedId = entry.getKey();
-                // Filter notes by current mode
-                boolean matchesMode;
-                String baseStarId;
-                if (mode == CharacterMode.LUIGI) {
-                    // In Luigi mode, only show notes with luigi- prefix
-                    matchesMode = storedId.startsWith(modePrefix);
-                    baseStarId = matchesMode ? storedId.substring(modePrefix.length()) : storedId;
-                } else {
-                    // In Mario mode, only show notes without prefix
-                    matchesMode = !storedId.startsWith("luigi-");
-                    baseStarId = storedId;
-                }
-                
-                if (matchesMode) {
-                    Star star = game.findStarById(baseStarId);
-                    if (star != null) {
-                        hasNotes = true;
-                        String starIcon = getModeStarIcon(star, true, mode);
-                        buffer.addLine(String.format("%s [%s]", starIcon,
-                            colored(star.getName().toUpperCase(), starColor)));
-                        buffer.addLine(colored("  " + entry.getValue(), NOTE));
-                        buffer.addEmptyLine();
-                    }
-                }
-            }
-            
-            if (!hasNotes) {
+            if (noteStars.isEmpty()) {
                 buffer.addLine(colored("no notes yet for " + mode.getDisplayName().toLowerCase() + " mode", DIM));
             }
 
+            // star line, note line, gap
+            int footerLines = 2;
+            list.render(buffer, ScreenBuffer.contentRows() - buffer.size() - footerLines, i -> 3, (out, i, selected) -> {
+                Star star = noteStars.get(i);
+                row.setLength(0);
+                row.append(selected ? SELECTED_PREFIX : "  ").append(ProgressView.starIcon(star, true, mode)).append(" [");
+                out.addLine(appendColored(row, star.getName().toUpperCase(), starColor).append(']'));
+                out.addLine(colored("    " + noteTexts.get(i), NOTE));
+                out.addEmptyLine();
+            });
+
             addDividerToBuffer(buffer);
-            buffer.addLine("press any key to continue");
+            if (list.getSize() > 1) {
+                buffer.addLine("↑↓ scroll · any other key to continue" + list.positionHint());
+            } else {
+                buffer.addLine("press any key to continue");
+            }
             addStarBufferLines(buffer);
 
-            buffer.printWithArt();
-            terminal.flush();
-            readKey();
-        } finally {
-            terminal.setAttributes(savedAttributes);
+            present(buffer);
+
+            if (!list.handleKey(nextKey())) {
+                return;
+            }
         }
     }
 
     private void showSettings() {
-        var savedAttributes = terminal.enterRawMode();
-        // Completely disable echo in raw mode
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        hideCursor();
-        try {
-            while (true) {
-                ScreenBuffer buffer = new ScreenBuffer();
-                addTitleToBuffer(buffer);
-                buffer.addLine(colored("⚙︎ SETTINGS & PROFILE", CYAN));
-                addDividerToBuffer(buffer);
+        session.hideCursor();
+        while (true) {
+            ScreenBuffer buffer = new ScreenBuffer();
+            addTitleToBuffer(buffer);
+            buffer.addLine(colored("⚙︎ SETTINGS & PROFILE", CYAN));
+            addDividerToBuffer(buffer);
 
-                buffer.addLine(String.format("player name: %s", player.getDisplayName()));
-                buffer.addLine(String.format("star bits: %s %d", colored("₊⊹", CYAN), player.getStarBits()));
-                buffer.addLine(String.format("spoilers: %s", player.isSpoilersEnabled() ? colored("ON", CYAN) : colored("OFF", DIM)));
-                buffer.addLine(String.format("play time: %s", formatPlayTime(player.getPlayTimeMinutes())));
+            buffer.addLine(String.format("player name: %s", player.getDisplayName()));
+            buffer.addLine(String.format("star bits: %s %d", colored("₊⊹", CYAN), player.getStarBits()));
+            buffer.addLine(String.format("spoilers: %s", player.isSpoilersEnabled() ? colored("ON", CYAN) : colored("OFF", DIM)));
+            buffer.addLine(String.format("play time: %s", formatPlayTime(player.getPlayTimeMinutes())));
 
-                addDividerToBuffer(buffer);
-                buffer.addLine("n change name · + add star bits · - remove star bits");
-                buffer.addLine("t log play time · s toggle spoilers · b back");
-                addStarBufferLines(buffer);
+            addDividerToBuffer(buffer);
+            buffer.addLine("n change name · + add star bits · - remove star bits");
+            buffer.addLine("t log play time · s toggle spoilers · b back");
+            addStarBufferLines(buffer);
 
-                buffer.printWithArt();
-                terminal.flush();
+            present(buffer);
 
-                int key = readKey();
+            KeyEvent key = nextKey();
 
-                if (key == 's' || key == 'S') {
-                    player.setSpoilersEnabled(!player.isSpoilersEnabled());
-                    save();
-                } else if (key == 'n' || key == 'N') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        clearScreen();
-                        showCursor();
-                        String name = lineReader.readLine("New name: ").trim();
-                        if (!name.isEmpty()) {
-                            player.setDisplayName(name);
-                            save();
-                        }
-                    } catch (Exception ignored) {
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
+            if (key.is('s')) {
+                player.setSpoilersEnabled(!player.isSpoilersEnabled());
+                save();
+            } else if (key.is('n')) {
+                try {
+                    clearScreen();
+                    String name = session.readLine("New name: ").trim();
+                    if (!name.isEmpty()) {
+                        player.setDisplayName(name);
+                        save();
                     }
-                } else if (key == '+' || key == '=') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        clearScreen();
-                        showCursor();
-                        String input = lineReader.readLine("Add star bits (amount): ").trim();
-                        if (!input.isEmpty()) {
-                            int amount = Integer.parseInt(input);
-                            if (amount > 0) {
-                                player.addStarBits(amount);
-                                save();
-                            }
+                } catch (Exception ignored) {
+                }
+            } else if (key.is('+') || key.is('=')) {
+                try {
+                    clearScreen();
+                    String input = session.readLine("Add star bits (amount): ").trim();
+                    if (!input.isEmpty()) {
+                        int amount = Integer.parseInt(input);
+                        if (amount > 0) {
+                            player.addStarBits(amount);
+                            save();
                         }
-                    } catch (NumberFormatException ignored) {
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
                     }
-                } else if (key == '-' || key == '_') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        clearScreen();
-                        showCursor();
-                        String input = lineReader.readLine("Remove star bits (amount): ").trim();
-                        if (!input.isEmpty()) {
-                            int amount = Integer.parseInt(input);
-                            if (amount > 0) {
-                                int newAmount = Math.max(0, player.getStarBits() - amount);
-                                player.setStarBits(newAmount);
-                                save();
-                            }
+                } catch (NumberFormatException ignored) {
+                }
+            } else if (key.is('-') || key.is('_')) {
+                try {
+                    clearScreen();
+                    String input = session.readLine("Remove star bits (amount): ").trim();
+                    if (!input.isEmpty()) {
+                        int amount = Integer.parseInt(input);
+                        if (amount > 0) {
+                            int newAmount = Math.max(0, player.getStarBits() - amount);
+                            player.setStarBits(newAmount);
+                            save();
                         }
-                    } catch (NumberFormatException ignored) {
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        // Re-disable echo after returning to raw mode
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
                     }
-                } else if (key == 't' || key == 'T') {
-                    terminal.setAttributes(savedAttributes);
-                    try {
-                        clearScreen();
-                        showCursor();
-                        System.out.println(colored("Log Play Time", CYAN));
-                        System.out.println("Current play time: " + formatPlayTime(player.getPlayTimeMinutes()));
-                        System.out.println();
-                        System.out.println("Enter time to add (examples: 30m, 1h, 1h 30m, 90):");
-                        String input = lineReader.readLine("> ").trim().toLowerCase();
-                        if (!input.isEmpty()) {
-                            long minutesToAdd = parsePlayTimeInput(input);
-                            if (minutesToAdd > 0) {
-                                player.addPlayTime(minutesToAdd);
-                                save();
-                                System.out.println(colored("✓ Added " + formatPlayTime(minutesToAdd) + " play time", CYAN));
-                                System.out.println("New total: " + formatPlayTime(player.getPlayTimeMinutes()));
-                                Thread.sleep(1500);
-                            } else if (minutesToAdd == 0) {
-                                System.out.println(colored("No time added.", DIM));
-                                Thread.sleep(1000);
-                            }
+                } catch (NumberFormatException ignored) {
+                }
+            } else if (key.is('t')) {
+                // the heading goes out with the prompt, through the terminal,
+                // and the result is a toast over the settings screen
+                try {
+                    clearScreen();
+                    String input = session.readLine(colored("Log Play Time", CYAN) + "\n"
+                        + "Current play time: " + formatPlayTime(player.getPlayTimeMinutes()) + "\n\n"
+                        + "Enter time to add (examples: 30m, 1h, 1h 30m, 90):\n> ").trim().toLowerCase();
+                    if (!input.isEmpty()) {
+                        long minutesToAdd = parsePlayTimeInput(input);
+                        if (minutesToAdd > 0) {
+                            player.addPlayTime(minutesToAdd);
+                            save();
+                            animator.start(new Toast(CYAN, PLAY_TIME_TOAST_MILLIS,
+                                "✓ Added " + formatPlayTime(minutesToAdd) + " play time",
+                                "New total: " + formatPlayTime(player.getPlayTimeMinutes())));
+                        } else if (minutesToAdd == 0) {
+                            animator.start(new Toast(DIM, PLAY_TIME_TOAST_MILLIS, "No time added."));
                         }
-                    } catch (Exception ignored) {
-                    } finally {
-                        savedAttributes = terminal.enterRawMode();
-                        var attrs2 = terminal.getAttributes();
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-                        attrs2.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-                        terminal.setAttributes(attrs2);
                     }
-                } else if (key == 'b' || key == 'B') {
-                    return;
+                } catch (NumberFormatException ignored) {
                 }
+            } else if (key.is('b') || key.getType() == KeyType.EOF) {
+                return;
             }
-        } finally {
-            terminal.setAttributes(savedAttributes);
         }
     }
 
@@ -1100,9 +771,17 @@ public class ConsoleUI {
     // shows notifications and auto-reveals stuff
     private void checkForUnlocks() {
         unlockNotifications.clear();
+        CharacterMode mode = player.getCharacterMode();
+        showMilestonePopups();
+        // galaxies that just opened and stars that just got revealed
+        // (the sweep is timed on its own - the popups above wait on the player)
+        addUnlockNotifications(UnlockSweep.run(game, player, progress, player.getCharacterMode()), mode);
+    }
+
+    // luigi mode and 100%, the first time they're reached this session
+    private void showMilestonePopups() {
         CharacterMode mode = player.getCharacterMode();
         int currentModeStarCount = getCurrentModeStarCount();
-        String themeColor = mode == CharacterMode.LUIGI ? BRIGHT_GREEN : BRIGHT_YELLOW;
 
         // Check if Luigi mode was JUST unlocked (Mario reached 120 stars for the first time)
         // Show popup if in Mario mode, count >= 120, and we haven't shown it yet this session
@@ -1119,82 +798,100 @@ public class ConsoleUI {
             completionPopupShown = true;
             show100PercentScreen();
         }
+    }
 
-        // Check all galaxies for unlock conditions
-        for (Dome dome : game.getDomes()) {
-            for (Galaxy galaxy : dome.getGalaxies()) {
-                // Check if galaxy just unlocked (based on current mode's star count)
-                if (galaxy.getUnlockCondition() != null && galaxy.getUnlockCondition() instanceof TotalStarsCondition) {
-                    TotalStarsCondition condition = (TotalStarsCondition) galaxy.getUnlockCondition();
-                    // Notify if we just reached the exact threshold
-                    if (currentModeStarCount == condition.getRequiredStars()) {
-                        unlockNotifications.add(colored("⭐ " + galaxy.getName() + " has been unlocked!", themeColor));
-                    }
-                }
-
-                // Check all stars in this galaxy for unlock conditions
-                for (Star star : galaxy.getStars()) {
-                    if (star.getUnlockCondition() != null) {
-                        String effectiveStarId = getEffectiveStarId(star.getId());
-                        boolean wasRevealed = progress.isStarRevealed(effectiveStarId);
-                        boolean isNowUnlocked = isModeUnlockConditionMet(star.getUnlockCondition());
-
-                        if (!wasRevealed && isNowUnlocked) {
-                            // Auto-reveal the star for current mode
-                            progress.getStarProgress(effectiveStarId).setRevealed(true);
-
-                            // Add notification based on star type
-                            if (star instanceof CometStar) {
-                                unlockNotifications.add(colored("☄ " + star.getName() + " comet is in orbit", themeColor));
-                            } else if (star instanceof SecretStar) {
-                                unlockNotifications.add(colored("✦ A secret star has been revealed in " + galaxy.getName(), themeColor));
-                            } else {
-                                unlockNotifications.add(colored("⭑ " + star.getName() + " has been revealed in " + galaxy.getName(), themeColor));
-                            }
-                        }
-                    }
-                }
+    // galaxies and stars opened up, in the colours of the mode they opened in
+    // (luigi mode and 100% have their own popups)
+    private void addUnlockNotifications(java.util.List<UnlockSweep.Unlock> unlocks, CharacterMode mode) {
+        String themeColor = mode == CharacterMode.LUIGI ? BRIGHT_GREEN : BRIGHT_YELLOW;
+        for (UnlockSweep.Unlock unlock : unlocks) {
+            Galaxy galaxy = unlock.getGalaxy();
+            String notification = switch (unlock.getKind()) {
+                case GALAXY -> "⭐ " + galaxy.getName() + " has been unlocked!";
+                case STAR -> switch (unlock.getStar().getType()) {
+                    case COMET -> "☄ " + unlock.getStar().getName() + " comet is in orbit";
+                    case SECRET -> "✦ A secret star has been revealed in " + galaxy.getName();
+                    default -> "⭑ " + unlock.getStar().getName() + " has been revealed in " + galaxy.getName();
+                };
+                case LUIGI_MODE, COMPLETE -> null;
+            };
+            if (notification != null) {
+                unlockNotifications.add(colored(notification, themeColor));
             }
         }
     }
 
-    // big popup when you unlock luigi mode!
+    // toast when you unlock luigi mode - shows over the star list for a
+    // few seconds without stopping you from ticking off the next star
     private void showLuigiUnlockPopup() {
-        clearScreen();
-        hideCursor();
-        
-        ScreenBuffer buffer = new ScreenBuffer();
-        buffer.addEmptyLine();
-        buffer.addEmptyLine();
-        buffer.addLine(colored("╔══════════════════════════════════════════════════════════╗", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("║     " + BOLD + "★ ★ ★  CONGRATULATIONS!  ★ ★ ★" + RESET + GREEN + "                 ║", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("║            🟢  LUIGI MODE UNLOCKED!  🟢                  ║", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("║     You've collected all 120 Power Stars as Mario!       ║", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("║     Now play through the game again as Luigi to          ║", GREEN));
-        buffer.addLine(colored("║     unlock the Grand Finale Galaxy!                      ║", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("║     Press [L] anytime to switch to Luigi Mode            ║", GREEN));
-        buffer.addLine(colored("║     Press [M] to switch back to Mario Mode               ║", GREEN));
-        buffer.addLine(colored("║                                                          ║", GREEN));
-        buffer.addLine(colored("╚══════════════════════════════════════════════════════════╝", GREEN));
-        buffer.addEmptyLine();
-        buffer.addEmptyLine();
-        buffer.addLine(colored("            Press any key to continue...", DIM));
-        
-        buffer.printWithArt();
-        terminal.flush();
-        readKey();
+        animator.start(new Toast(GREEN, LUIGI_TOAST_MILLIS,
+            "★ ★ ★  LUIGI MODE UNLOCKED!  ★ ★ ★",
+            "all 120 power stars collected as mario",
+            "switching to luigi · m/l to swap modes"));
+    }
+
+    // draw the frame with any running animation on top
+    // more keys already queued - handle them before drawing
+    private void present(ScreenBuffer buffer) {
+        if (!session.hasPendingKeys()) {
+            animator.draw(buffer);
+            buffer.printWithArt();
+        }
+    }
+
+    // next key - while something animates, a TICK when the next frame is due instead
+    // the hidden overlay key is handled here for every screen
+    private KeyEvent nextKey() {
+        KeyEvent key = animator.isAnimating() ? session.nextKey(animator.millisUntilNextFrame()) : session.nextKey();
+        if (key.is(OVERLAY_KEY)) {
+            toggleMetricsOverlay();
+            return KeyEvent.of(KeyType.TICK); // just redraw, with or without it
+        }
+        return key;
     }
 
-    // 100% completion celebration screen - rainbow colors!
+    // timings overlay on/off - metrics only get recorded while it's up
+    // (unless they were turned on at startup)
+    private void toggleMetricsOverlay() {
+        if (metricsOverlay == null) {
+            metricsWereOn = Metrics.isEnabled();
+            Metrics.setEnabled(true);
+            metricsOverlay = new MetricsOverlay();
+            animator.start(metricsOverlay);
+        } else {
+            animator.stop(metricsOverlay);
+            metricsOverlay = null;
+            Metrics.setEnabled(metricsWereOn);
+        }
+    }
+
+    // 100% completion celebration screen - rainbow colors that keep cycling
+    // until a key comes in
     private void show100PercentScreen() {
-        clearScreen();
-        hideCursor();
-        
+        session.hideCursor();
+        Animator.Animation celebration = (out, elapsed) -> {
+            addCelebration(out, (int) (elapsed / RAINBOW_STEP_MILLIS));
+            return true;
+        };
+        animator.start(celebration);
+
+        ScreenBuffer buffer = new ScreenBuffer();
+        try {
+            while (true) {
+                buffer.clear();
+                present(buffer);
+                KeyType type = nextKey().getType();
+                if (type != KeyType.TICK && type != KeyType.RESIZE) {
+                    return;
+                }
+            }
+        } finally {
+            animator.stop(celebration);
+        }
+    }
+
+    // the celebration box with the rainbow shifted along by step colors
+    private static void addCelebration(ScreenBuffer buffer, int step) {
         // rainbow colors for celebration effect
         String[] rainbowColors = {
             "\033[91m", // Bright Red
@@ -1204,57 +901,44 @@ public class ConsoleUI {
             "\033[94m", // Bright Blue
             "\033[95m"  // Bright Magenta
         };
-        
-        ScreenBuffer buffer = new ScreenBuffer();
+        int n = rainbowColors.length;
+        int shift = Math.floorMod(-step, n);
+
         buffer.addEmptyLine();
         buffer.addEmptyLine();
-        
+
         // Create rainbow-colored border
         String topBorder =    "╔══════════════════════════════════════╗";
         String bottomBorder = "╚══════════════════════════════════════╝";
         String emptyContent = "                                        ";
-        
-        StringBuilder rainbowTop = new StringBuilder();
-        for (int i = 0; i < topBorder.length(); i++) {
-            rainbowTop.append(rainbowColors[i % rainbowColors.length]).append(topBorder.charAt(i));
-        }
-        rainbowTop.append(RESET);
-        
-        StringBuilder rainbowBottom = new StringBuilder();
-        for (int i = 0; i < bottomBorder.length(); i++) {
-            rainbowBottom.append(rainbowColors[i % rainbowColors.length]).append(bottomBorder.charAt(i));
-        }
-        rainbowBottom.append(RESET);
-        
-        buffer.addLine(rainbowTop.toString());
-        buffer.addLine(colored("║", rainbowColors[0]) + emptyContent + colored("║", rainbowColors[5]));
-        
         // Rainbow stars header - using ASCII * instead of ★
         String starsLine = "* * *  100% COMPLETE!  * * *";
-        StringBuilder rainbowStars = new StringBuilder();
-        for (int i = 0; i < starsLine.length(); i++) {
-            rainbowStars.append(rainbowColors[i % rainbowColors.length]).append(starsLine.charAt(i));
-        }
-        rainbowStars.append(RESET);
-        buffer.addLine(colored("║", rainbowColors[0]) + "      " + BOLD + rainbowStars + "      " + colored("║", rainbowColors[5]));
-        
-        buffer.addLine(colored("║", rainbowColors[1]) + emptyContent + colored("║", rainbowColors[4]));
-        buffer.addLine(colored("║", rainbowColors[1]) + colored("  + 248/248 POWER STARS COLLECTED +   ", BRIGHT_YELLOW) + colored("║", rainbowColors[4]));
-        buffer.addLine(colored("║", rainbowColors[2]) + emptyContent + colored("║", rainbowColors[3]));
-        buffer.addLine(colored("║", rainbowColors[2]) + colored("      a true SMG completionist!       ", BRIGHT_CYAN) + colored("║", rainbowColors[3]));
-        buffer.addLine(colored("║", rainbowColors[3]) + emptyContent + colored("║", rainbowColors[2]));
-        buffer.addLine(colored("║", rainbowColors[3]) + colored("  * Mario: 121 stars + 3 green stars  ", PURPLE) + colored("║", rainbowColors[2]));
-        buffer.addLine(colored("║", rainbowColors[4]) + colored("  * Luigi: 121 stars + 3 green stars  ", GREEN) + colored("║", rainbowColors[1]));
-        buffer.addLine(colored("║", rainbowColors[4]) + emptyContent + colored("║", rainbowColors[1]));
-        buffer.addLine(colored("║", rainbowColors[5]) + colored("        Thank you for playing!        ", DIM) + colored("║", rainbowColors[0]));
-        buffer.addLine(colored("║", rainbowColors[5]) + emptyContent + colored("║", rainbowColors[0]));
-        buffer.addLine(rainbowBottom.toString());
+
+        buffer.addLine(rainbow(topBorder, rainbowColors, shift));
+        buffer.addLine(colored("║", rainbowColors[shift % n]) + emptyContent + colored("║", rainbowColors[(shift + 5) % n]));
+        buffer.addLine(colored("║", rainbowColors[shift % n]) + "      " + BOLD + rainbow(starsLine, rainbowColors, shift) + "      " + colored("║", rainbowColors[(shift + 5) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 1) % n]) + emptyContent + colored("║", rainbowColors[(shift + 4) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 1) % n]) + colored("  + 248/248 POWER STARS COLLECTED +   ", BRIGHT_YELLOW) + colored("║", rainbowColors[(shift + 4) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 2) % n]) + emptyContent + colored("║", rainbowColors[(shift + 3) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 2) % n]) + colored("      a true SMG completionist!       ", BRIGHT_CYAN) + colored("║", rainbowColors[(shift + 3) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 3) % n]) + emptyContent + colored("║", rainbowColors[(shift + 2) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 3) % n]) + colored("  * Mario: 121 stars + 3 green stars  ", PURPLE) + colored("║", rainbowColors[(shift + 2) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 4) % n]) + colored("  * Luigi: 121 stars + 3 green stars  ", GREEN) + colored("║", rainbowColors[(shift + 1) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 4) % n]) + emptyContent + colored("║", rainbowColors[(shift + 1) % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 5) % n]) + colored("        Thank you for playing!        ", DIM) + colored("║", rainbowColors[shift % n]));
+        buffer.addLine(colored("║", rainbowColors[(shift + 5) % n]) + emptyContent + colored("║", rainbowColors[shift % n]));
+        buffer.addLine(rainbow(bottomBorder, rainbowColors, shift));
         buffer.addEmptyLine();
         buffer.addEmptyLine();
         buffer.addLine(colored("    Press any key to continue...", DIM));
-        
-        buffer.printWithArt();
-        terminal.flush();
-        readKey();
+    }
+
+    // each character in the next color along
+    private static String rainbow(String text, String[] colors, int shift) {
+        StringBuilder out = new StringBuilder(text.length() * 6);
+        for (int i = 0; i < text.length(); i++) {
+            out.append(colors[(i + shift) % colors.length]).append(text.charAt(i));
+        }
+        return out.append(RESET).toString();
     }
 }
@@ -8,31 +8,25 @@ import static com.completionist.ui.ConsoleColors.*;
 public class ConsoleUtils {
     private static final int PROGRESS_BAR_LENGTH = 10;
 
-    // clear the screen
+    // star icons, built once
+    private static final String UNCOLLECTED_ICON = colored("☆", STAR_UNCOLLECTED);
+    private static final String MAIN_ICON = colored("⭑", STAR_COLLECTED);
+    private static final String SECRET_ICON = colored("⭑!", STAR_COLLECTED);
+    private static final String COMET_ICON = colored("★彡", STAR_COLLECTED);
+    private static final String GRAND_ICON = colored("𖤓", STAR_COLLECTED);
+
+    // clear the screen - through the same stream the frames use
     public static void clearScreen() {
-        // move cursor home and clear below
-        System.out.print("\033[H\033[J");
-        System.out.flush();
+        ScreenBuffer.clearScreen();
     }
 
     // move cursor to top without clearing (less flicker)
     public static void cursorHome() {
+        ScreenBuffer.awaitRendered();
         System.out.print("\033[H");
         System.out.flush();
     }
 
-    // hide cursor
-    public static void hideCursor() {
-        System.out.print("\033[?25l");
-        System.out.flush();
-    }
-
-    // show cursor
-    public static void showCursor() {
-        System.out.print("\033[?25h");
-        System.out.flush();
-    }
-
     // print the title
     public static void printTitle() {
         System.out.println(colored("★ THE COMPLETIONIST ★", TITLE));
@@ -184,21 +178,17 @@ public class ConsoleUtils {
     // pick the right star icon based on type and if collected
     public static String getStarIcon(Star star, boolean collected) {
         if (!collected) {
-            return colored("☆", STAR_UNCOLLECTED);
+            return UNCOLLECTED_ICON;
         }
 
         // Collected stars have different icons
-        if (star instanceof MainStar) {
-            return colored("⭑", STAR_COLLECTED);
-        } else if (star instanceof SecretStar) {
-            return colored("⭑!", STAR_COLLECTED);
-        } else if (star instanceof CometStar) {
-            return colored("★彡", STAR_COLLECTED);
-        } else if (star instanceof GrandStar) {
-            return colored("𖤓", STAR_COLLECTED);
-        }
-
-        return colored("☆", STAR_UNCOLLECTED);
+        return switch (star.getType()) {
+            case MAIN -> MAIN_ICON;
+            case SECRET -> SECRET_ICON;
+            case COMET -> COMET_ICON;
+            case GRAND -> GRAND_ICON;
+            default -> UNCOLLECTED_ICON;
+        };
     }
 
     // shows a locked star
@@ -269,12 +259,20 @@ public class ConsoleUtils {
     // format dome for a specific character (mario/luigi)
     // tracks progress separately for each character
     public static String formatDomeForMode(Dome dome, GameProgress progress, CharacterMode mode) {
-        // Calculate mode-specific star counts
+        return appendDomeForMode(new StringBuilder(), dome, progress, mode).toString();
+    }
+
+    // same as formatDomeForMode but writes into a reused builder
+    public static StringBuilder appendDomeForMode(StringBuilder out, Dome dome, GameProgress progress, CharacterMode mode) {
+        int collected = countDomeStarsForMode(dome, progress, mode);
+        boolean isUnlocked = isDomeUnlockedForMode(dome, progress, mode, countModeStars(progress, mode));
+        return appendDomeForMode(out, dome, mode, collected, isUnlocked);
+    }
+
+    // stars collected in a dome for one character
+    public static int countDomeStarsForMode(Dome dome, GameProgress progress, CharacterMode mode) {
         String starPrefix = mode.getStarPrefix();
         int collected = 0;
-        int total = dome.getTotalItems();
-        
-        // Count stars collected for this mode
         for (Galaxy galaxy : dome.getGalaxies()) {
             for (Star star : galaxy.getStars()) {
                 String effectiveStarId = starPrefix + star.getId();
@@ -283,9 +281,11 @@ public class ConsoleUtils {
                 }
             }
         }
-        
-        // Check unlock status based on current mode's star count
-        int modeStarCount = countModeStars(progress, mode);
+        return collected;
+    }
+
+    // unlock status based on the mode's star count (from countModeStars)
+    public static boolean isDomeUnlockedForMode(Dome dome, GameProgress progress, CharacterMode mode, int modeStarCount) {
         boolean isUnlocked = dome.getUnlockCondition() == null;
         
         if (!isUnlocked && dome.getUnlockCondition() instanceof TotalStarsCondition) {
@@ -297,49 +297,81 @@ public class ConsoleUtils {
             GrandFinaleUnlockCondition gfCondition = (GrandFinaleUnlockCondition) dome.getUnlockCondition();
             isUnlocked = gfCondition.isMetForMode(progress, mode);
         }
-        
-        // Build unlock requirement bracket (aligned to 6 chars like galaxies)
-        String unlockBracket = "      "; // 6 spaces for alignment
-        if (dome.getUnlockCondition() != null && dome.getUnlockCondition() instanceof TotalStarsCondition) {
-            TotalStarsCondition condition = (TotalStarsCondition) dome.getUnlockCondition();
-            int stars = condition.getRequiredStars();
-            String starsStr = String.format("%2d", stars);
-            // Light blue (BRIGHT_CYAN) for completed, yellow for incomplete
-            String color = isUnlocked ? BRIGHT_CYAN : YELLOW;
-            unlockBracket = colored("[✷" + starsStr + "]", color) + " ";
-        }
+        return isUnlocked;
+    }
+
+    // the dome line from counts worked out already
+    public static StringBuilder appendDomeForMode(StringBuilder out, Dome dome, CharacterMode mode, int collected, boolean isUnlocked) {
+        int total = dome.getTotalItems();
+
+        // Unlock requirement bracket (aligned to 6 chars like galaxies)
+        appendUnlockBracket(out, dome.getUnlockCondition(), isUnlocked);
         
         if (!isUnlocked) {
             // Locked dome - show only [???]
-            return String.format("%s%s %s",
-                    unlockBracket,
-                    colored("⌂", DIM),
-                    colored("[???]", BRIGHT_YELLOW));
-        } else {
-            // Unlocked dome - show full info with mode-appropriate colors
-            String domeName = dome.getName().toUpperCase();
-            String paddedName = String.format("%-20s", domeName);
-            if (paddedName.length() > 20) {
-                paddedName = paddedName.substring(0, 20);
-            }
-            
-            String domeColor = mode == CharacterMode.LUIGI ? GREEN : DOME;
-            String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
-            
-            return String.format("%s%s [%s] %s",
-                    unlockBracket,
-                    colored("⌂", domeColor),
-                    colored(paddedName, domeColor),
-                    colored("★ " + collected + " / " + total, starColor));
+            appendColored(out, "⌂", DIM).append(' ');
+            return appendColored(out, "[???]", BRIGHT_YELLOW);
         }
+
+        // Unlocked dome - show full info with mode-appropriate colors
+        String domeColor = mode == CharacterMode.LUIGI ? GREEN : DOME;
+        String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
+
+        appendColored(out, "⌂", domeColor).append(" [");
+        appendPadded(out.append(domeColor), dome.getName().toUpperCase(), 20).append(RESET).append("] ");
+        out.append(starColor).append("★ ").append(collected).append(" / ").append(total);
+        return out.append(RESET);
+    }
+
+    // [✷XX] in blue once met, yellow until then - or 6 spaces if there's no star count
+    public static StringBuilder appendUnlockBracket(StringBuilder out, UnlockCondition condition, boolean isUnlocked) {
+        if (!(condition instanceof TotalStarsCondition)) {
+            return out.append("      ");
+        }
+        int stars = ((TotalStarsCondition) condition).getRequiredStars();
+        // Light blue (BRIGHT_CYAN) for completed, yellow for incomplete
+        out.append(isUnlocked ? BRIGHT_CYAN : YELLOW).append("[✷");
+        appendRightAligned(out, stars, 2);
+        return out.append(']').append(RESET).append(' ');
+    }
+
+    // text left-justified in exactly width chars (like %-20s cut to 20)
+    public static StringBuilder appendPadded(StringBuilder out, String text, int width) {
+        if (text.length() >= width) {
+            return out.append(text, 0, width);
+        }
+        out.append(text);
+        for (int i = text.length(); i < width; i++) {
+            out.append(' ');
+        }
+        return out;
+    }
+
+    // number right-aligned in width chars (like %2d)
+    public static StringBuilder appendRightAligned(StringBuilder out, int value, int width) {
+        int digits = 1;
+        for (int rest = Math.abs(value / 10); rest > 0; rest /= 10) {
+            digits++;
+        }
+        if (value < 0) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            out.append(' ');
+        }
+        return out.append(value);
     }
 
     // count stars collected for mario or luigi mode
-    private static int countModeStars(GameProgress progress, CharacterMode mode) {
+    static int countModeStars(GameProgress progress, CharacterMode mode) {
         String prefix = mode.getStarPrefix();
-        return (int) progress.getAllStarProgress().values().stream()
-                .filter(sp -> sp.getStarId().startsWith(prefix) && sp.isCollected())
-                .count();
+        int count = 0;
+        for (StarProgress sp : progress.getAllStarProgress().values()) {
+            if (sp.isCollected() && sp.getStarId().startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
     }
 
     // print galaxy header with completion %
@@ -367,7 +399,8 @@ public class ConsoleUtils {
     }
 
     // cosmic background ascii art - looks cool
-    private static final String[] ASCII_ART_PATTERN = {
+    // (Layout slices this up for the terminal size)
+    static final String[] ASCII_ART_PATTERN = {
         "⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀⠀",
         "⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀⠀⡀⠀⠀",
         "⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐⠀⠀⠀⠐",
@@ -404,91 +437,9 @@ public class ConsoleUtils {
         "⠀⠀⠂⠀⠀⠀⠀⠈⠀⠀⠠⠀⠀⡀⠀⠀⠀⢀⠀⠀⡀⠀⠀⠐⠀⠀⠀⠠⠀⢀⠀⠈⠀⠀⠈⠀⡀⢀⠀⠈⠀⠀⠀⠈⠀⠀⠠⠀⠀⡀⠀⠁⢀⠀⠀⠀⡀⠀⠀⠄⠀⡀⠀⠈⠀⠀⠀⠈⠀⠀⠈⠀⡀⢀⠀⠀⠀⠀⠂⠀⠀⡀⠀⠈⠀⠀⠂⠀⠀⠀⠁⠈⠀⠀⠀⠁⢀⠀⠀⠁⢀⠀⠀⠈⠀⠀⠈⠀⡀⠀⠀⠁⢀⠀⠀⠀⠀⠀⠁⠐"
     };
 
-    private static final int PATTERN_SPLIT = 20; // Split point for left/right sides - sparse stars on left
-
-    // get left side of ascii art for a line
-    public static String getAsciiArtLeft(int lineIndex) {
-        if (lineIndex >= 0 && lineIndex < ASCII_ART_PATTERN.length) {
-            String line = ASCII_ART_PATTERN[lineIndex];
-            return colored(line.substring(0, Math.min(PATTERN_SPLIT, line.length())), CYAN);
-        }
-        return " ".repeat(PATTERN_SPLIT);
-    }
-
-    // get right side of ascii art for a line
-    public static String getAsciiArtRight(int lineIndex) {
-        if (lineIndex >= 0 && lineIndex < ASCII_ART_PATTERN.length) {
-            String line = ASCII_ART_PATTERN[lineIndex];
-            if (line.length() > PATTERN_SPLIT) {
-                return colored(line.substring(PATTERN_SPLIT), CYAN);
-            }
-        }
-        return "";
-    }
-
-    // how many lines of ascii art we have
-    public static int getAsciiArtLineCount() {
-        return ASCII_ART_PATTERN.length;
-    }
-
-    // simple star pattern for left side (no fancy art)
-    public static String getStarPatternLeft(int lineIndex) {
-        // Return sparse star pattern matching the left side width
-        return getStarFillLine(lineIndex).substring(0, Math.min(PATTERN_SPLIT, getStarFillLine(lineIndex).length()));
-    }
-
-    // simple star pattern for right side
-    public static String getStarPatternRight(int lineIndex) {
-        // Return sparse star pattern for the right side
-        String starLine = getStarFillLine(lineIndex);
-        int rightStart = PATTERN_SPLIT + 55 + 55; // left + content + padding
-        if (starLine.length() > rightStart) {
-            return starLine.substring(rightStart);
-        }
-        return "";
-    }
-
-    // pad a line to a specific width (for aligning with art)
-    // truncates if too long
-    public static String padToWidth(String line, int width) {
-        // Strip ANSI codes to measure actual visible length
-        String stripped = line.replaceAll("\033\\[[0-9;]+m", "");
-        int visibleLength = stripped.length();
-        
-        if (visibleLength > width) {
-            // Need to truncate - this is complex with ANSI codes
-            // Build truncated string character by character, preserving ANSI codes
-            StringBuilder result = new StringBuilder();
-            int visibleCount = 0;
-            int i = 0;
-            while (i < line.length() && visibleCount < width) {
-                if (line.charAt(i) == '\033') {
-                    // ANSI escape sequence - copy it entirely
-                    int end = line.indexOf('m', i);
-                    if (end != -1) {
-                        result.append(line, i, end + 1);
-                        i = end + 1;
-                    } else {
-                        result.append(line.charAt(i));
-                        i++;
-                    }
-                } else {
-                    result.append(line.charAt(i));
-                    visibleCount++;
-                    i++;
-                }
-            }
-            // Add reset code at end to clean up any open formatting
-            result.append("\033[0m");
-            return result.toString();
-        }
-        
-        int padding = width - visibleLength;
-        return line + " ".repeat(padding);
-    }
-
     // decorative star patterns to fill empty space
-    private static final String[] STAR_FILL_LINES = {
+    // (Layout slices these up too)
+    static final String[] STAR_FILL_LINES = {
         "⠀⠈⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈⠀⠈⠀⢀⠀⠂⠀⠂⠀⢀⠀⡀⠀⠈⠀⡀⠀⢀⠀⠁⢀⠀⠈⠀⢀⠀⡀⠀⠂⠀⡀⠀⠈⠀⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈⠀⠈",
         "⠀⠁⠀⡀⠀⠠⠀⡀⠀⡀⠀⠂⠀⠂⠐⠀⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈⠀⠐⠀⡀⠐⠀⠠⠀⡀⠈⠀⡀⠀⡀⢀⠀⠈⠀⡀⠀⠂⠀⠈⠀⡀⠀⠐⠀⢀⠀⠈⠀⡀",
         "⠂⠀⢀⠀⠠⠀⠂⠀⡀⠀⠂⠀⡀⠠⠀⡀⠈⠀⡀⠀⠂⠀⢀⠀⡀⠀⠈⠀⢀⠀⠀⠀⡀⠀⠂⠀⡀⠠⠀⡀⠂⠀⢀⠀⠠⠀⠂⠀⡀⠀⠂⠀⡀⠠⠀⡀",
@@ -504,59 +455,13 @@ public class ConsoleUtils {
         "⠀⠈⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈⠀⠈⠀⢀⠀⠂⠀⠂⠀⢀⠀⡀⠀⠈⠀⡀⠀⢀⠀⠁⢀⠀⠈⠀⢀⠀⡀⠀⠂⠀⡀⠀⠈⠀⠈⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈",
         "⠀⠁⠀⡀⠀⠠⠀⡀⠀⡀⠀⠂⠀⠂⠐⠀⠀⠐⠀⢀⠀⠈⠀⡀⢀⠀⠈⠀⠐⠀⡀⠐⠀⠠⠀⡀⠈⠀⡀⠀⡀⢀⠀⠈⠀⡀⠀⠂⠀⠈⠀⡀⠀⠐⠀⢀⠀⠈⠀⡀"
     };
-    
-    private static final int CONTENT_WIDTH = 55;
-    private static final int STAR_FILL_OFFSET = 6; // offset to align with menu content
-
-    // get a full line of star fill pattern
-    public static String getStarFillLine(int index) {
-        String pattern = STAR_FILL_LINES[index % STAR_FILL_LINES.length];
-        // Ensure we have enough stars to fill the width
-        String fullPattern = pattern;
-        while (fullPattern.length() < CONTENT_WIDTH) {
-            fullPattern = fullPattern + pattern;
-        }
-        return colored(fullPattern.substring(0, CONTENT_WIDTH), CYAN);
-    }
 
-    // wrap content with stars on left and right
-    // makes the ui look pretty
-    public static String wrapContentWithStars(String line, int width, int lineIndex) {
-        String pattern = STAR_FILL_LINES[lineIndex % STAR_FILL_LINES.length];
-        
-        // Strip ANSI codes to measure actual visible length
-        String stripped = line.replaceAll("\033\\[[0-9;]+m", "");
-        int contentLength = stripped.length();
-        
-        // Calculate maximum content length (width minus the left star offset)
-        int maxContentLength = width - STAR_FILL_OFFSET;
-        
-        // If content is too long, we can't add right stars - just pad to width
-        if (contentLength >= maxContentLength) {
-            // Content fills or exceeds available space - just use padToWidth
-            return padToWidth(line, width);
+    static String repeatToLength(String pattern, int length) {
+        StringBuilder extended = new StringBuilder(length + pattern.length());
+        while (extended.length() < length) {
+            extended.append(pattern);
         }
-        
-        // Ensure pattern is long enough by repeating it
-        String extendedPattern = pattern;
-        while (extendedPattern.length() < width * 2) {
-            extendedPattern = extendedPattern + pattern;
-        }
-        
-        // Left side: stars for the offset area (first 6 characters of pattern)
-        String leftStars = extendedPattern.substring(0, STAR_FILL_OFFSET);
-        
-        // Right side: stars to fill remaining width after content
-        int usedWidth = STAR_FILL_OFFSET + contentLength;
-        int rightPadding = Math.max(0, width - usedWidth);
-        String rightStars = "";
-        if (rightPadding > 0) {
-            // Continue the pattern from where we left off (after offset + content position)
-            int startPos = STAR_FILL_OFFSET + contentLength;
-            rightStars = extendedPattern.substring(startPos, startPos + rightPadding);
-        }
-        
-        return colored(leftStars, CYAN) + line + colored(rightStars, CYAN);
+        return extended.toString();
     }
 
     // adds star lines to fill remaining space
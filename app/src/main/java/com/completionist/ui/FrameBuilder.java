@@ -0,0 +1,115 @@
+package com.completionist.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// growable byte buffer that gets reused frame after frame
+// encodes text and numbers straight into utf-8, no String.format or
+// temporary strings, so a steady-state frame doesn't allocate
+final class FrameBuilder {
+    private byte[] bytes;
+    private int size;
+
+    FrameBuilder(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    FrameBuilder append(byte[] data) {
+        return append(data, 0, data.length);
+    }
+
+    FrameBuilder append(byte[] data, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(data, offset, bytes, size, length);
+        size += length;
+        return this;
+    }
+
+    // utf-8 encode without going through String.getBytes
+    FrameBuilder append(CharSequence text) {
+        int length = text.length();
+        ensureCapacity(size + length * 3);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // a surrogate pair is two chars, so the 3-per-char room covers its 4 bytes
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | (cp >> 18));
+                bytes[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    // decimal digits for a non-negative or negative int
+    FrameBuilder append(int value) {
+        ensureCapacity(size + 11);
+        if (value < 0) {
+            bytes[size++] = '-';
+            if (value == Integer.MIN_VALUE) {
+                return append("2147483648");
+            }
+            value = -value;
+        }
+        int start = size;
+        do {
+            bytes[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // digits went in backwards
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte t = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = t;
+        }
+        return this;
+    }
+
+    FrameBuilder appendSpaces(int count) {
+        ensureCapacity(size + Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            bytes[size++] = ' ';
+        }
+        return this;
+    }
+
+    // does [from, to) here match [otherFrom, otherTo) in other?
+    boolean regionEquals(int from, int to, FrameBuilder other, int otherFrom, int otherTo) {
+        return Arrays.equals(bytes, from, to, other.bytes, otherFrom, otherTo);
+    }
+
+    // everything in one write call
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.completionist.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// owns what's on the terminal: the last frame, the frame being built and
+// the output bytes. all three buffers are reused, and the two frames swap
+// places after every render so nothing new gets allocated per frame
+final class FrameRenderer {
+    private static final byte[] CLEAR_TO_END_OF_LINE = "\033[K".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLEAR_BELOW = "\033[J".getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] ROW_ADDRESSES = new byte[128][];
+
+    static {
+        for (int i = 0; i < ROW_ADDRESSES.length; i++) {
+            ROW_ADDRESSES[i] = ("\033[" + (i + 1) + ";1H").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final byte[] CLEAR_SCREEN = "\033[H\033[J".getBytes(StandardCharsets.UTF_8);
+
+    private OutputStream out;
+
+    // frame being built, and the one currently on screen
+    private FrameBuilder frame = new FrameBuilder(16 * 1024);
+    private FrameBuilder previous = new FrameBuilder(16 * 1024);
+    private int[] rowEnds = new int[64];
+    private int[] previousRowEnds = new int[64];
+    private int rows;
+    private int previousRows = -1; // -1 = unknown, redraw everything
+
+    private final FrameBuilder output = new FrameBuilder(16 * 1024);
+
+    FrameRenderer(OutputStream out) {
+        this.out = out;
+    }
+
+    void setOutput(OutputStream out) {
+        this.out = out;
+        invalidate();
+    }
+
+    // forget what's on screen - next render is a full redraw
+    void invalidate() {
+        previousRows = -1;
+    }
+
+    // blank the terminal this renders to, for a prompt
+    void clearScreen() {
+        invalidate();
+        try {
+            out.write(CLEAR_SCREEN);
+            out.flush();
+        } catch (IOException e) {
+            // terminal went away - the next frame finds out too
+        }
+    }
+
+    // start a new frame, write row bytes into the returned builder
+    FrameBuilder beginFrame() {
+        frame.reset();
+        rows = 0;
+        return frame;
+    }
+
+    // mark the end of the row just written
+    void endRow() {
+        if (rows == rowEnds.length) {
+            rowEnds = Arrays.copyOf(rowEnds, rows * 2);
+        }
+        rowEnds[rows++] = frame.size();
+    }
+
+    // write only the rows that differ from the last frame, in one write + flush
+    // returns how many bytes went out
+    int render() {
+        boolean fullRedraw = previousRows != rows;
+
+        output.reset();
+        for (int i = 0; i < rows; i++) {
+            int start = i == 0 ? 0 : rowEnds[i - 1];
+            int end = rowEnds[i];
+            if (!fullRedraw) {
+                int previousStart = i == 0 ? 0 : previousRowEnds[i - 1];
+                if (frame.regionEquals(start, end, previous, previousStart, previousRowEnds[i])) {
+                    continue;
+                }
+            }
+            // jump straight to the row, clear whatever was left after it
+            output.append(rowAddress(i));
+            output.append(frame.array(), start, end - start);
+            output.append(CLEAR_TO_END_OF_LINE);
+        }
+
+        swapFrames();
+        if (output.size() == 0) {
+            return 0; // nothing changed
+        }
+
+        // park the cursor under the frame so later prints land there
+        output.append(rowAddress(rows));
+        if (fullRedraw) {
+            // clear anything below
+            output.append(CLEAR_BELOW);
+        }
+
+        try {
+            output.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            // terminal went away, nothing sensible to do mid-frame
+            invalidate();
+        }
+        return output.size();
+    }
+
+    private void swapFrames() {
+        FrameBuilder builder = previous;
+        previous = frame;
+        frame = builder;
+
+        int[] ends = previousRowEnds;
+        previousRowEnds = rowEnds;
+        rowEnds = ends;
+        previousRows = rows;
+    }
+
+    // "move to row i, column 1"
+    private static byte[] rowAddress(int i) {
+        if (i < ROW_ADDRESSES.length) {
+            return ROW_ADDRESSES[i];
+        }
+        return ("\033[" + (i + 1) + ";1H").getBytes(StandardCharsets.UTF_8);
+    }
+}
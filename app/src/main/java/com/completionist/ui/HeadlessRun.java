@@ -0,0 +1,213 @@
+package com.completionist.ui;
+
+import com.completionist.model.Game;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.storage.StorageService;
+import org.jline.terminal.Size;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.impl.ExternalTerminal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// runs the real ui on an in-memory terminal - keys come from a script and
+// every frame gets recorded (its text, the bytes written for it and how
+// long it took) instead of shown. for the frame benchmark and snapshot tests
+//
+// keys go in one at a time, each once the frame for the last one is out,
+// so every key gets its own frame like when someone is typing
+public final class HeadlessRun {
+    // walks through the main screens - the default benchmark
+    public static final String DEFAULT_SCRIPT =
+        "down*3 up*3 enter down*5 up*5 enter down*4 up*4 r b b down*12 enter b";
+
+    private static final long FRAME_WAIT_MILLIS = 2000; // a key that draws nothing doesn't hang the run
+
+    // one frame as it went out
+    public static final class Frame {
+        private final List<String> lines;
+        private final int bytes;
+        private final long renderNanos;
+
+        Frame(StyledText[] content, int bytes, long renderNanos) {
+            String[] plain = new String[content.length];
+            for (int i = 0; i < content.length; i++) {
+                plain[i] = content[i].plainText();
+            }
+            this.lines = Collections.unmodifiableList(Arrays.asList(plain));
+            this.bytes = bytes;
+            this.renderNanos = renderNanos;
+        }
+
+        // content lines without colors (no art or star fill)
+        public List<String> getLines() {
+            return lines;
+        }
+
+        // bytes written to the terminal for it - 0 if nothing changed
+        public int getBytes() {
+            return bytes;
+        }
+
+        public long getRenderNanos() {
+            return renderNanos;
+        }
+
+        // what a golden file holds
+        public String text() {
+            return String.join("\n", lines) + "\n";
+        }
+    }
+
+    private HeadlessRun() {
+    }
+
+    // run the ui on a columns x rows terminal, type the script, then end the input
+    // script is keys separated by spaces: up down left right home end pgup pgdn
+    // enter esc space tab backspace, or a single character - key*n repeats
+    public static List<Frame> run(Game game, PlayerProfile player, StorageService storage,
+                                  int columns, int rows, String script) throws IOException {
+        List<byte[]> keys = parseScript(script);
+        List<Frame> frames = Collections.synchronizedList(new ArrayList<>());
+        Semaphore drawn = new Semaphore(0);
+
+        PipedOutputStream typed = new PipedOutputStream();
+        // jline's in-memory terminal - no pty, nothing touches the real one
+        Terminal terminal = new ExternalTerminal("headless", "xterm-256color",
+            new PipedInputStream(typed), OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+        terminal.setSize(new Size(columns, rows));
+
+        ScreenBuffer.setFrameListener((lines, bytes, nanos) -> {
+            frames.add(new Frame(lines, bytes, nanos));
+            drawn.release();
+        });
+        Thread typist = new Thread(() -> type(typed, keys, drawn), "headless-keys");
+        typist.setDaemon(true);
+        try {
+            ConsoleUI ui = new ConsoleUI(game, player, storage, terminal);
+            typist.start();
+            ui.start(); // returns once the script runs out
+        } finally {
+            typist.interrupt();
+            ScreenBuffer.setFrameListener(null);
+            ScreenBuffer.setOutput(System.out);
+            ScreenBuffer.resize(0, 0);
+        }
+        synchronized (frames) {
+            return new ArrayList<>(frames);
+        }
+    }
+
+    // per-frame bytes and render time, then totals
+    public static void report(List<Frame> frames, PrintStream out) {
+        out.println(" frame    bytes   render us  first line");
+        long totalBytes = 0;
+        long[] micros = new long[frames.size()];
+        for (int i = 0; i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+            micros[i] = frame.getRenderNanos() / 1000;
+            totalBytes += frame.getBytes();
+            String first = frame.getLines().isEmpty() ? "" : frame.getLines().get(0);
+            out.printf("%6d %8d %11d  %s%n", i, frame.getBytes(), micros[i], first);
+        }
+        if (frames.isEmpty()) {
+            out.println("no frames drawn");
+            return;
+        }
+
+        Arrays.sort(micros);
+        long sum = 0;
+        for (long m : micros) {
+            sum += m;
+        }
+        out.printf("%d frames, %d bytes (%d per frame)%n", frames.size(), totalBytes, totalBytes / frames.size());
+        out.printf("render us: mean %d, p50 %d, p95 %d, max %d%n",
+            sum / micros.length, percentile(micros, 50), percentile(micros, 95), micros[micros.length - 1]);
+    }
+
+    // frame-000.txt, frame-001.txt... for diffing against a known good run
+    public static void writeFrames(List<Frame> frames, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (int i = 0; i < frames.size(); i++) {
+            Path file = dir.resolve(String.format("frame-%03d.txt", i));
+            Files.writeString(file, frames.get(i).text(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // the bytes a terminal sends for each key in the script
+    static List<byte[]> parseScript(String script) {
+        List<byte[]> keys = new ArrayList<>();
+        for (String token : script.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int times = 1;
+            int star = token.lastIndexOf('*');
+            if (star > 0) {
+                times = Integer.parseInt(token.substring(star + 1));
+                token = token.substring(0, star);
+            }
+            byte[] bytes = keyBytes(token).getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < times; i++) {
+                keys.add(bytes);
+            }
+        }
+        return keys;
+    }
+
+    private static String keyBytes(String key) {
+        return switch (key) {
+            case "up" -> "\033[A";
+            case "down" -> "\033[B";
+            case "right" -> "\033[C";
+            case "left" -> "\033[D";
+            case "home" -> "\033[H";
+            case "end" -> "\033[F";
+            case "pgup" -> "\033[5~";
+            case "pgdn" -> "\033[6~";
+            case "enter" -> "\r";
+            case "esc" -> "\033";
+            case "space" -> " ";
+            case "tab" -> "\t";
+            case "backspace" -> "\177";
+            default -> {
+                if (key.length() != 1) {
+                    throw new IllegalArgumentException("Unknown key in script: " + key);
+                }
+                yield key;
+            }
+        };
+    }
+
+    // typist thread - one key per frame, then end of input
+    private static void type(PipedOutputStream typed, List<byte[]> keys, Semaphore drawn) {
+        try (typed) {
+            drawn.tryAcquire(FRAME_WAIT_MILLIS, TimeUnit.MILLISECONDS); // first frame
+            for (byte[] key : keys) {
+                drawn.drainPermits(); // animation frames in between don't count
+                typed.write(key);
+                typed.flush();
+                drawn.tryAcquire(FRAME_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException | InterruptedException e) {
+            // the ui quit before the script ran out
+        }
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+}
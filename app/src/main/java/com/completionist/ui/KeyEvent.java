@@ -0,0 +1,69 @@
+package com.completionist.ui;
+
+// one key press, already decoded from its escape sequence
+// count > 1 means a held-down move that got folded into one event
+public final class KeyEvent {
+    private static final KeyEvent[] SINGLE = new KeyEvent[KeyType.values().length];
+    private static final KeyEvent[] ASCII = new KeyEvent[128];
+
+    static {
+        for (KeyType type : KeyType.values()) {
+            SINGLE[type.ordinal()] = new KeyEvent(type, '\0', 1);
+        }
+        for (char c = 0; c < ASCII.length; c++) {
+            ASCII[c] = new KeyEvent(KeyType.CHARACTER, c, 1);
+        }
+    }
+
+    private final KeyType type;
+    private final char character;
+    private final int count;
+
+    private KeyEvent(KeyType type, char character, int count) {
+        this.type = type;
+        this.character = character;
+        this.count = count;
+    }
+
+    public static KeyEvent of(KeyType type) {
+        return SINGLE[type.ordinal()];
+    }
+
+    public static KeyEvent character(char c) {
+        return c < ASCII.length ? ASCII[c] : new KeyEvent(KeyType.CHARACTER, c, 1);
+    }
+
+    public KeyType getType() {
+        return type;
+    }
+
+    public char getCharacter() {
+        return character;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // is this the given letter, either case
+    public boolean is(char c) {
+        return type == KeyType.CHARACTER
+            && Character.toLowerCase(character) == Character.toLowerCase(c);
+    }
+
+    // same key as other, ignoring the count
+    public boolean sameKey(KeyEvent other) {
+        return type == other.type && character == other.character;
+    }
+
+    // this key pressed a few more times
+    KeyEvent plus(int more) {
+        return new KeyEvent(type, character, count + more);
+    }
+
+    @Override
+    public String toString() {
+        String name = type == KeyType.CHARACTER ? "'" + character + "'" : type.name();
+        return count == 1 ? name : name + " x" + count;
+    }
+}
@@ -0,0 +1,100 @@
+package com.completionist.ui;
+
+// turns raw terminal chars into key events
+// arrows and friends come in as ESC [ A, ESC O A, ESC [ 5 ~ and so on
+// feed() returns null while it's in the middle of a sequence
+public class KeyParser {
+    private static final int NORMAL = 0;
+    private static final int ESCAPE = 1;   // got ESC
+    private static final int CSI = 2;      // got ESC [ or ESC O
+    private static final int PARAM = 3;    // got ESC [ digits
+
+    private int state = NORMAL;
+    private int param;
+
+    public KeyEvent feed(int c) {
+        switch (state) {
+            case ESCAPE:
+                if (c == '[' || c == 'O') {
+                    state = CSI;
+                    return null;
+                }
+                // ESC then some other key - alt+key, just take the key
+                state = NORMAL;
+                return plain(c);
+            case CSI:
+                if (c >= '0' && c <= '9') {
+                    param = c - '0';
+                    state = PARAM;
+                    return null;
+                }
+                state = NORMAL;
+                return finalKey(c);
+            case PARAM:
+                if (c >= '0' && c <= '9') {
+                    param = param * 10 + (c - '0');
+                    return null;
+                }
+                if (c == ';') {
+                    return null; // modifiers like ESC [ 1 ; 5 A, ignored
+                }
+                state = NORMAL;
+                return c == '~' ? tildeKey(param) : finalKey(c);
+            default:
+                if (c == 27) {
+                    state = ESCAPE;
+                    return null;
+                }
+                return plain(c);
+        }
+    }
+
+    // nothing else arrived in time - a lone ESC was the escape key
+    public KeyEvent timeout() {
+        if (state == ESCAPE) {
+            state = NORMAL;
+            return KeyEvent.of(KeyType.ESCAPE);
+        }
+        return null;
+    }
+
+    // waiting on the rest of a sequence?
+    public boolean isPending() {
+        return state != NORMAL;
+    }
+
+    private static KeyEvent plain(int c) {
+        if (c == 10 || c == 13) {
+            return KeyEvent.of(KeyType.ENTER);
+        }
+        if (c == 127 || c == 8) {
+            return KeyEvent.of(KeyType.BACKSPACE);
+        }
+        if (c == 9) {
+            return KeyEvent.of(KeyType.TAB);
+        }
+        return KeyEvent.character((char) c);
+    }
+
+    private static KeyEvent finalKey(int c) {
+        return switch (c) {
+            case 'A' -> KeyEvent.of(KeyType.UP);
+            case 'B' -> KeyEvent.of(KeyType.DOWN);
+            case 'C' -> KeyEvent.of(KeyType.RIGHT);
+            case 'D' -> KeyEvent.of(KeyType.LEFT);
+            case 'H' -> KeyEvent.of(KeyType.HOME);
+            case 'F' -> KeyEvent.of(KeyType.END);
+            default -> null; // something we don't use
+        };
+    }
+
+    private static KeyEvent tildeKey(int code) {
+        return switch (code) {
+            case 1, 7 -> KeyEvent.of(KeyType.HOME);
+            case 4, 8 -> KeyEvent.of(KeyType.END);
+            case 5 -> KeyEvent.of(KeyType.PAGE_UP);
+            case 6 -> KeyEvent.of(KeyType.PAGE_DOWN);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.completionist.ui;
+
+// fixed size ring buffer between the key reader thread and the ui loop
+// a move that repeats the newest queued move just bumps its count, so a
+// held arrow key stays one entry no matter how fast it repeats
+public class KeyQueue {
+    private final KeyEvent[] ring;
+    private int head;  // next to take
+    private int size;
+
+    public KeyQueue(int capacity) {
+        this.ring = new KeyEvent[capacity];
+    }
+
+    // false if full (key dropped)
+    public synchronized boolean offer(KeyEvent key) {
+        if (size > 0 && key.getType().canFold()) {
+            int tail = (head + size - 1) % ring.length;
+            KeyEvent last = ring[tail];
+            if (last.sameKey(key)) {
+                ring[tail] = last.plus(key.getCount());
+                return true;
+            }
+        }
+        if (size == ring.length) {
+            return false;
+        }
+        ring[(head + size) % ring.length] = key;
+        size++;
+        notifyAll();
+        return true;
+    }
+
+    // wait for the next key, null if the timeout runs out
+    public synchronized KeyEvent take(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (size == 0) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                return null;
+            }
+            wait(left);
+        }
+        return poll();
+    }
+
+    // next key or null, doesn't wait
+    public synchronized KeyEvent poll() {
+        if (size == 0) {
+            return null;
+        }
+        KeyEvent key = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+        return key;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized void clear() {
+        while (poll() != null) {
+            // drop everything
+        }
+    }
+}
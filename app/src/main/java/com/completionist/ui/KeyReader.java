@@ -0,0 +1,182 @@
+package com.completionist.ui;
+
+import com.completionist.metrics.Metrics;
+import org.jline.terminal.Terminal;
+import org.jline.utils.NonBlockingReader;
+
+import java.io.IOException;
+
+// reads the terminal on its own thread and queues up decoded keys
+// the ui asks next() for a key and only redraws once the queue is empty,
+// so typeahead and held keys don't each cost a frame
+//
+// line prompts (lineReader) read the same terminal, so pause() around them
+public class KeyReader {
+    private static final int QUEUE_SIZE = 64;
+    private static final long POLL_MILLIS = 50; // also how long a lone ESC waits
+
+    private final Terminal terminal;
+    private final KeyParser parser = new KeyParser();
+    private final KeyQueue queue = new KeyQueue(QUEUE_SIZE);
+    private final Object lock = new Object();
+
+    private Thread thread;
+    private boolean paused;
+    private boolean idle;      // reader thread is parked, not touching the terminal
+    private volatile boolean running;
+
+    public KeyReader(Terminal terminal) {
+        this.terminal = terminal;
+    }
+
+    // wait for the next key (started on first use)
+    // EOF once the terminal is gone
+    public KeyEvent next() {
+        start();
+        try {
+            KeyEvent key = queue.take(POLL_MILLIS);
+            while (key == null) {
+                if (!running) {
+                    return KeyEvent.of(KeyType.EOF);
+                }
+                key = queue.take(POLL_MILLIS);
+            }
+            return key;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return KeyEvent.of(KeyType.EOF);
+        }
+    }
+
+    // queue something that didn't come from the keyboard (like a resize)
+    public void post(KeyEvent key) {
+        queue.offer(key);
+    }
+
+    // wait at most this long, null if nothing came in
+    public KeyEvent next(long timeoutMillis) {
+        start();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (true) {
+                long left = deadline - System.currentTimeMillis();
+                KeyEvent key = queue.take(Math.max(0, Math.min(POLL_MILLIS, left)));
+                if (key != null) {
+                    return key;
+                }
+                if (!running) {
+                    return KeyEvent.of(KeyType.EOF);
+                }
+                if (left <= 0) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return KeyEvent.of(KeyType.EOF);
+        }
+    }
+
+    // more keys already waiting? then skip drawing this frame
+    public boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    // stop reading so a line prompt can have the terminal
+    public void pause() {
+        synchronized (lock) {
+            paused = true;
+            while (running && !idle) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // back to reading keys - anything typed before the prompt is stale
+    public void resume() {
+        synchronized (lock) {
+            queue.clear();
+            paused = false;
+            lock.notifyAll();
+        }
+    }
+
+    public void close() {
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::readLoop, "key-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void readLoop() {
+        NonBlockingReader reader = terminal.reader();
+        while (running) {
+            if (!waitWhilePaused()) {
+                return;
+            }
+
+            int c;
+            try {
+                c = reader.read(POLL_MILLIS);
+            } catch (IOException e) {
+                c = -1;
+            }
+
+            if (c == NonBlockingReader.READ_EXPIRED) {
+                push(parser.timeout());
+            } else if (c < 0) {
+                // terminal closed - let the ui know and stop
+                push(KeyEvent.of(KeyType.EOF));
+                running = false;
+            } else {
+                Metrics.inputArrived(); // key-to-frame time starts at the first byte
+                push(parser.feed(c));
+            }
+        }
+        synchronized (lock) {
+            idle = true;
+            lock.notifyAll();
+        }
+    }
+
+    // parks while paused, false once we're shutting down
+    private boolean waitWhilePaused() {
+        synchronized (lock) {
+            while (paused && running) {
+                idle = true;
+                lock.notifyAll();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+            idle = false;
+            return running;
+        }
+    }
+
+    private void push(KeyEvent key) {
+        if (key != null) {
+            queue.offer(key);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.completionist.ui;
+
+// what kind of key came in - CHARACTER means a plain printable key
+public enum KeyType {
+    CHARACTER,
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT,
+    PAGE_UP,
+    PAGE_DOWN,
+    HOME,
+    END,
+    ENTER,
+    BACKSPACE,
+    TAB,
+    ESCAPE,
+    RESIZE, // not a key - the terminal changed size, redraw
+    TICK,   // not a key - an animation frame is due, redraw
+    EOF;
+
+    // moves can be folded together when a key is held down
+    // (toggles like space can't - pressing twice isn't pressing once)
+    public boolean isMove() {
+        return this == UP || this == DOWN || this == LEFT || this == RIGHT
+            || this == PAGE_UP || this == PAGE_DOWN;
+    }
+
+    // safe to fold into the same event queued just before it
+    // dragging a window edge sends a burst of resizes, one redraw covers them
+    public boolean canFold() {
+        return isMove() || this == RESIZE;
+    }
+}
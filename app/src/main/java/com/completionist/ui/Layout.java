@@ -0,0 +1,191 @@
+package com.completionist.ui;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.completionist.ui.ConsoleColors.*;
+
+// where the art and content go for one terminal size, with the colored
+// decoration bytes for it ready to copy into a frame
+//
+// one layout per size seen, and the pieces inside are cached by the width
+// they depend on - a resize that only changes the height, or only the
+// right art, reuses everything else
+final class Layout {
+    static final int CONTENT_WIDTH = 55;
+    static final int ART_WIDTH = 20;         // left art, sparse stars
+    static final int TOP_PADDING = 6;        // stars above content
+    private static final int STAR_FILL_OFFSET = 6; // offset to align with menu content
+    private static final int COMFORTABLE_ROWS = 24; // content rows kept before the top padding gives way
+
+    private static final String[] ART = ConsoleUtils.ASCII_ART_PATTERN;
+    private static final String[] FILL = ConsoleUtils.STAR_FILL_LINES;
+    private static final int ART_LENGTH = longest(ART);
+
+    private static final Map<Long, Layout> LAYOUTS = new ConcurrentHashMap<>();
+    private static final Map<Long, byte[][]> ART_SLICES = new ConcurrentHashMap<>();   // by (start, width)
+    private static final Map<Integer, byte[][]> FILL_SLICES = new ConcurrentHashMap<>(); // by width
+    private static final Map<Integer, ContentFill> CONTENT_FILLS = new ConcurrentHashMap<>(); // by content width
+
+    // size unknown (dumb terminal, tests) - the full art like it always was
+    static final Layout DEFAULT = new Layout(0, 0);
+
+    private final int columns;
+    private final int rows;
+    private final int contentWidth;
+    private final int topPadding;
+
+    private final byte[][] artLeft;
+    private final byte[][] artRight;
+    private final byte[][] starPatternLeft;
+    private final ContentFill fill;
+
+    private Layout(int columns, int rows) {
+        this.columns = columns;
+
+        // leave the last column alone - writing there makes some terminals
+        // wrap, and the clear-to-end-of-line after it would eat the glyph
+        int usable = columns > 0 ? columns - 1 : Integer.MAX_VALUE;
+        this.contentWidth = Math.max(1, Math.min(CONTENT_WIDTH, usable));
+        // the left art gives way before the content does, the right art gets what's left
+        int artWidth = Math.max(0, Math.min(ART_WIDTH, usable - contentWidth));
+        int rightWidth = Math.max(0, Math.min(ART_LENGTH - artWidth, usable - artWidth - contentWidth));
+
+        // the last row stays free for the parked cursor
+        this.rows = rows > 1 ? Math.min(ART.length, rows - 1) : ART.length;
+        this.topPadding = Math.max(0, Math.min(TOP_PADDING, this.rows - COMFORTABLE_ROWS));
+
+        this.artLeft = artSlice(0, artWidth);
+        this.artRight = artSlice(artWidth, rightWidth);
+        this.starPatternLeft = fillSlice(artWidth);
+        this.fill = CONTENT_FILLS.computeIfAbsent(contentWidth, ContentFill::new);
+    }
+
+    // layout for a terminal size, 0 for anything the terminal didn't say
+    static Layout forSize(int columns, int rows) {
+        int c = Math.max(0, columns);
+        int r = Math.max(0, rows);
+        if (c == 0 && r == 0) {
+            return DEFAULT;
+        }
+        long key = ((long) c << 32) | r;
+        return LAYOUTS.computeIfAbsent(key, k -> new Layout(c, r));
+    }
+
+    // screen rows the frame takes
+    int rows() {
+        return rows;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    int contentWidth() {
+        return contentWidth;
+    }
+
+    int topPadding() {
+        return topPadding;
+    }
+
+    // lines of content that fit between the top padding and the bottom of the frame
+    int contentRows() {
+        return rows - topPadding;
+    }
+
+    byte[] artLeft(int row) {
+        return artLeft[row];
+    }
+
+    byte[] artRight(int row) {
+        return artRight[row];
+    }
+
+    // plain stars where the left art would be (screens without art)
+    byte[] starPatternLeft(int row) {
+        return starPatternLeft[Math.floorMod(row, FILL.length)];
+    }
+
+    // a full content-width line of stars
+    byte[] starFill(int row) {
+        return fill.line[Math.floorMod(row, FILL.length)];
+    }
+
+    // content wrapped with stars on the left and right
+    // too long for stars (or too narrow a terminal) - just fitted to the width
+    void writeContent(FrameBuilder out, StyledText content, int row) {
+        int width = content.width();
+        if (width >= contentWidth - STAR_FILL_OFFSET) {
+            out.append(content.fit(contentWidth).utf8());
+            return;
+        }
+
+        int p = Math.floorMod(row, FILL.length);
+        out.append(fill.left[p]);
+        out.append(content.utf8());
+        out.append(fill.right[p][width]);
+    }
+
+    // columns [start, start + width) of every art row
+    private static byte[][] artSlice(int start, int width) {
+        long key = ((long) start << 32) | width;
+        return ART_SLICES.computeIfAbsent(key, k -> {
+            byte[][] slice = new byte[ART.length][];
+            for (int i = 0; i < ART.length; i++) {
+                String line = ART[i];
+                int from = Math.min(start, line.length());
+                int to = Math.min(start + width, line.length());
+                slice[i] = to > from ? utf8(colored(line.substring(from, to), CYAN)) : new byte[0];
+            }
+            return slice;
+        });
+    }
+
+    // the first width columns of every fill pattern
+    private static byte[][] fillSlice(int width) {
+        return FILL_SLICES.computeIfAbsent(width, w -> {
+            byte[][] slice = new byte[FILL.length][];
+            for (int p = 0; p < FILL.length; p++) {
+                String extended = ConsoleUtils.repeatToLength(FILL[p], w);
+                slice[p] = w > 0 ? utf8(colored(extended.substring(0, w), CYAN)) : new byte[0];
+            }
+            return slice;
+        });
+    }
+
+    private static int longest(String[] lines) {
+        int longest = 0;
+        for (String line : lines) {
+            longest = Math.max(longest, line.length());
+        }
+        return longest;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // stars around the content for one content width
+    private static final class ContentFill {
+        final byte[][] line = new byte[FILL.length][];  // the whole width
+        final byte[][] left = new byte[FILL.length][];  // before the content
+        final byte[][][] right = new byte[FILL.length][][]; // after content of each length
+
+        ContentFill(int width) {
+            int maxContentLength = Math.max(0, width - STAR_FILL_OFFSET);
+            for (int p = 0; p < FILL.length; p++) {
+                String extended = ConsoleUtils.repeatToLength(FILL[p], width * 2);
+                line[p] = utf8(colored(extended.substring(0, width), CYAN));
+                left[p] = utf8(colored(extended.substring(0, Math.min(STAR_FILL_OFFSET, width)), CYAN));
+
+                // content shorter than the max gets stars continuing the pattern after it
+                right[p] = new byte[maxContentLength][];
+                for (int length = 0; length < maxContentLength; length++) {
+                    right[p][length] = utf8(colored(extended.substring(STAR_FILL_OFFSET + length, width), CYAN));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.completionist.ui;
+
+import com.completionist.metrics.Histogram;
+import com.completionist.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.completionist.ui.ConsoleColors.*;
+
+// debug overlay - p50/p99/max for every timed operation, at the bottom of
+// whatever screen is up. runs as an animation so the numbers stay live
+// (the text only changes twice a second, frames in between are free)
+class MetricsOverlay implements Animator.Animation {
+    private static final long REFRESH_MILLIS = 500;
+
+    private List<String> lines = List.of();
+    private long builtAt = -REFRESH_MILLIS;
+
+    @Override
+    public boolean draw(ScreenBuffer buffer, long elapsedMillis) {
+        if (elapsedMillis - builtAt >= REFRESH_MILLIS) {
+            lines = build();
+            builtAt = elapsedMillis;
+        }
+        buffer.truncate(ScreenBuffer.contentRows() - lines.size());
+        for (String line : lines) {
+            buffer.addLine(line);
+        }
+        return true;
+    }
+
+    private static List<String> build() {
+        List<String> out = new ArrayList<>();
+        out.add(colored(String.format("%-14s %6s %8s %8s %8s", "op", "n", "p50", "p99", "max"), DIM));
+        for (Histogram h : Metrics.histogramsByName()) {
+            out.add(String.format("%-14s %6d %8s %8s %8s", h.getName(), h.getCount(),
+                duration(h.percentile(50)), duration(h.percentile(99)), duration(h.getMax())));
+        }
+        for (Map.Entry<String, LongAdder> counter : Metrics.counters().entrySet()) {
+            out.add(String.format("%-14s %6d", counter.getKey(), counter.getValue().sum()));
+        }
+        return out;
+    }
+
+    // 850us, 12.3ms, 1.20s
+    static String duration(long nanos) {
+        if (nanos < 1_000_000L) {
+            return (nanos / 1000) + "us";
+        }
+        if (nanos < 1_000_000_000L) {
+            return String.format("%.1fms", nanos / 1e6);
+        }
+        return String.format("%.2fs", nanos / 1e9);
+    }
+}
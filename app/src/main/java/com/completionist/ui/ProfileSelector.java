@@ -1,14 +1,15 @@
 package com.completionist.ui;
 
 import com.completionist.progress.PlayerProfile;
+import com.completionist.storage.ProfilePage;
 import com.completionist.storage.StorageException;
 import com.completionist.storage.StorageService;
 import org.jline.terminal.Terminal;
-import org.jline.terminal.TerminalBuilder;
-import org.jline.reader.LineReader;
-import org.jline.reader.LineReaderBuilder;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import static com.completionist.ui.ConsoleColors.*;
@@ -16,39 +17,59 @@ import static com.completionist.ui.ConsoleUtils.*;
 
 // startup screen - pick or create profile
 public class ProfileSelector {
+    private static final int PAGE_SIZE = 8; // profiles shown per page
     private final StorageService storage;
     private final Terminal terminal;
-    private final LineReader lineReader;
+    private final TerminalSession session;
+    private final boolean ownsTerminal; // opened it ourselves, so close() closes it
 
     public ProfileSelector(StorageService storage) {
+        this(storage, new TerminalSession(TerminalSession.openSystemTerminal()), true);
+    }
+
+    // pick on a session that's already open - it stays open for whoever comes next
+    public ProfileSelector(StorageService storage, TerminalSession session) {
+        this(storage, session, false);
+    }
+
+    private ProfileSelector(StorageService storage, TerminalSession session, boolean ownsTerminal) {
         this.storage = storage;
-        
-        try {
-            this.terminal = TerminalBuilder.builder()
-                .system(true)
-                .jna(true)
-                .jansi(true)
-                .dumb(false)
-                .build();
+        this.session = session;
+        this.terminal = session.getTerminal();
+        this.ownsTerminal = ownsTerminal;
+    }
 
-            this.lineReader = LineReaderBuilder.builder()
-                .terminal(terminal)
-                .build();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to initialize terminal", e);
-        }
+    // the first page of profiles with their labels, ready to draw
+    // doesn't need a terminal, so it can be read while one is being set up
+    public static FirstPage readFirstPage(StorageService storage) {
+        ProfilePage page = storage.listProfiles(null, PAGE_SIZE);
+        return new FirstPage(page, loadProfileLabels(storage, page.getProfileIds()));
     }
 
     // show profile selection and return the chosen profile
     public PlayerProfile selectProfile() {
-        List<String> existingProfiles = storage.listProfiles();
-        
-        if (existingProfiles.isEmpty()) {
+        return selectProfile(readFirstPage(storage));
+    }
+
+    // same, starting from a first page read earlier
+    public PlayerProfile selectProfile(FirstPage firstPage) {
+        if (firstPage.page.isEmpty()) {
             // no profiles - make a new one
             return promptNewProfile();
         } else {
             // show profile picker
-            return showProfileMenu(existingProfiles);
+            return showProfileMenu(firstPage);
+        }
+    }
+
+    // what the picker shows first - the page and a label per profile on it
+    public static final class FirstPage {
+        private final ProfilePage page;
+        private final List<String> labels;
+
+        private FirstPage(ProfilePage page, List<String> labels) {
+            this.page = page;
+            this.labels = labels;
         }
     }
 
@@ -65,7 +86,7 @@ public class ProfileSelector {
         String name = "";
         while (name.isEmpty()) {
             try {
-                name = lineReader.readLine("Enter your name: ").trim();
+                name = session.readLine("Enter your name: ").trim();
                 if (name.isEmpty()) {
                     System.out.println(colored("Name cannot be empty. Please try again.", "\033[31m"));
                 }
@@ -106,28 +127,27 @@ public class ProfileSelector {
     }
 
     // show menu to select or create profile
-    private PlayerProfile showProfileMenu(List<String> existingProfiles) {
+    // profiles come one page at a time, only re-read when the page changes
+    private PlayerProfile showProfileMenu(FirstPage firstPage) {
         int selectedIndex = 0;
-        int totalOptions = existingProfiles.size() + 2; // +1 for "New Profile", +1 for "Delete Profile"
         
-        var savedAttributes = terminal.enterRawMode();
-        var attrs = terminal.getAttributes();
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHO, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ECHONL, false);
-        attrs.setLocalFlag(org.jline.terminal.Attributes.LocalFlag.ICANON, false);
-        terminal.setAttributes(attrs);
-        hideCursor();
+        // cursors for the pages we came through, so up can go back
+        Deque<String> previousCursors = new ArrayDeque<>();
+        String pageCursor = null;
+        ProfilePage page = firstPage.page;
+        List<String> profiles = page.getProfileIds();
+        List<String> labels = firstPage.labels;
+        
+        session.enterRawMode();
+        session.hideCursor();
         
         try {
             while (true) {
-                // Refresh the profile list in case of deletion
-                List<String> profiles = storage.listProfiles();
                 if (profiles.isEmpty()) {
-                    terminal.setAttributes(savedAttributes);
-                    showCursor();
+                    session.showCursor();
                     return promptNewProfile();
                 }
-                totalOptions = profiles.size() + 2;
+                int totalOptions = profiles.size() + 2; // +1 for "New Profile", +1 for "Delete Profile"
                 if (selectedIndex >= totalOptions) {
                     selectedIndex = 0;
                 }
@@ -135,35 +155,15 @@ public class ProfileSelector {
                 ScreenBuffer buffer = new ScreenBuffer();
                 addTitleToBuffer(buffer);
                 buffer.addLine("");
-                buffer.addLine(colored("SELECT PROFILE", CYAN));
+                String pageInfo = (page.hasMore() || !previousCursors.isEmpty())
+                    ? colored("  page " + (previousCursors.size() + 1), DIM) : "";
+                buffer.addLine(colored("SELECT PROFILE", CYAN) + pageInfo);
                 addDividerToBuffer(buffer);
                 
-                // list existing profiles
+                // list profiles on this page
                 for (int i = 0; i < profiles.size(); i++) {
-                    String profileId = profiles.get(i);
                     String prefix = (i == selectedIndex) ? colored("→ ", CYAN) : "  ";
-                    
-                    // try to get display name from profile
-                    String displayName = profileId;
-                    String starIcon = colored("★", CYAN);
-                    try {
-                        PlayerProfile p = storage.loadProfile(profileId);
-                        displayName = p.getDisplayName();
-                        // add some profile info
-                        int stars = p.getAllGameProgress().values().stream()
-                            .mapToInt(gp -> (int) gp.getAllStarProgress().values().stream()
-                                .filter(sp -> sp.isCollected())
-                                .count())
-                            .sum();
-                        // 248 stars = complete (yellow star icon)
-                        if (stars >= 248) {
-                            starIcon = colored("★", BRIGHT_YELLOW);
-                        }
-                        displayName += colored(" (" + stars + " stars)", BRIGHT_CYAN);
-                    } catch (StorageException ignored) {
-                    }
-                    
-                    buffer.addLine(prefix + starIcon + " " + displayName);
+                    buffer.addLine(prefix + labels.get(i));
                 }
                 
                 addDividerToBuffer(buffer);
@@ -182,36 +182,61 @@ public class ProfileSelector {
                 buffer.addLine("↑↓ navigate · enter select");
                 addStarBufferLines(buffer);
                 
-                buffer.printWithArt();
-                terminal.flush();
+                // more keys already queued - handle them before drawing
+                if (!session.hasPendingKeys()) {
+                    buffer.printWithArt();
+                }
                 
-                int key = readKey();
+                KeyEvent key = session.nextKey();
                 
-                if (key == 27) { // ESC sequence
-                    int next1 = readKey();
-                    if (next1 == 91) { // '[' - arrow key
-                        int next2 = readKey();
-                        if (next2 == 65) { // Up arrow
-                            selectedIndex = (selectedIndex - 1 + totalOptions) % totalOptions;
-                        } else if (next2 == 66) { // Down arrow
-                            selectedIndex = (selectedIndex + 1) % totalOptions;
+                if (key.getType() == KeyType.UP) {
+                    // held keys arrive folded together, take them one step at a time
+                    for (int step = 0; step < key.getCount(); step++) {
+                        if (selectedIndex == 0 && !previousCursors.isEmpty()) {
+                            // back to the previous page, land on its last profile
+                            pageCursor = previousCursors.pop();
+                            page = storage.listProfiles(pageCursor, PAGE_SIZE);
+                            profiles = page.getProfileIds();
+                            labels = loadProfileLabels(storage, profiles);
+                            selectedIndex = Math.max(0, profiles.size() - 1);
+                        } else {
+                            selectedIndex = (selectedIndex - 1 + profiles.size() + 2) % (profiles.size() + 2);
+                        }
+                    }
+                } else if (key.getType() == KeyType.DOWN) {
+                    for (int step = 0; step < key.getCount(); step++) {
+                        if (selectedIndex == profiles.size() - 1 && page.hasMore()) {
+                            // on to the next page
+                            previousCursors.push(pageCursor == null ? "" : pageCursor);
+                            pageCursor = page.getNextCursor();
+                            page = storage.listProfiles(pageCursor, PAGE_SIZE);
+                            profiles = page.getProfileIds();
+                            labels = loadProfileLabels(storage, profiles);
+                            selectedIndex = 0;
+                        } else {
+                            selectedIndex = (selectedIndex + 1) % (profiles.size() + 2);
                         }
                     }
-                } else if (key == 10 || key == 13) { // Enter
+                } else if (key.getType() == KeyType.ENTER) {
                     if (selectedIndex == newProfileIndex) {
                         // Create new profile
-                        terminal.setAttributes(savedAttributes);
-                        showCursor();
+                        session.showCursor();
                         return promptNewProfile();
                     } else if (selectedIndex == deleteProfileIndex) {
                         // Show delete profile submenu
                         showDeleteProfileMenu(profiles);
-                        // After deletion, stay in menu (loop continues)
+                        // After deletion, reload this page and stay in menu
+                        page = storage.listProfiles(pageCursor, PAGE_SIZE);
+                        if (page.isEmpty() && !previousCursors.isEmpty()) {
+                            pageCursor = previousCursors.pop();
+                            page = storage.listProfiles(pageCursor, PAGE_SIZE);
+                        }
+                        profiles = page.getProfileIds();
+                        labels = loadProfileLabels(storage, profiles);
                     } else {
                         // Load selected profile
                         String selectedId = profiles.get(selectedIndex);
-                        terminal.setAttributes(savedAttributes);
-                        showCursor();
+                        session.showCursor();
                         try {
                             PlayerProfile profile = storage.loadProfile(selectedId);
                             System.out.println();
@@ -222,19 +247,42 @@ public class ProfileSelector {
                             return promptNewProfile();
                         }
                     }
-                } else if (key == 'q' || key == 'Q') {
-                    terminal.setAttributes(savedAttributes);
-                    showCursor();
+                } else if (key.is('q') || key.getType() == KeyType.EOF) {
+                    session.close();
                     System.exit(0);
                 }
             }
         } finally {
+            session.showCursor();
+        }
+    }
+    
+    // star icon + name + star count for each profile on a page
+    // loaded once per page instead of once per frame
+    private static List<String> loadProfileLabels(StorageService storage, List<String> profileIds) {
+        List<String> labels = new ArrayList<>(profileIds.size());
+        for (String profileId : profileIds) {
+            String displayName = profileId;
+            String starIcon = colored("★", CYAN);
             try {
-                terminal.setAttributes(savedAttributes);
-            } catch (Exception ignored) {
+                PlayerProfile p = storage.loadProfile(profileId);
+                displayName = p.getDisplayName();
+                // add some profile info
+                int stars = p.getTotalStarsCollected();
+                // 248 stars = complete (yellow star icon)
+                if (stars >= 248) {
+                    starIcon = colored("★", BRIGHT_YELLOW);
+                }
+                displayName += colored(" (" + stars + " stars)", BRIGHT_CYAN);
+            } catch (StorageException ignored) {
             }
-            showCursor();
+            labels.add(starIcon + " " + displayName);
         }
+        return labels;
+    }
+    
+    private int countStars(PlayerProfile p) {
+        return p.getTotalStarsCollected();
     }
     
     // submenu for deleting profiles
@@ -242,6 +290,18 @@ public class ProfileSelector {
         int selectedIndex = 0;
         int totalOptions = profiles.size() + 1; // +1 for "Cancel" option
         
+        // names don't change while this menu is open
+        List<String> names = new ArrayList<>(profiles.size());
+        for (String profileId : profiles) {
+            String displayName = profileId;
+            try {
+                PlayerProfile p = storage.loadProfile(profileId);
+                displayName = p.getDisplayName() + colored(" (" + countStars(p) + " stars)", DIM);
+            } catch (StorageException ignored) {
+            }
+            names.add(displayName);
+        }
+        
         while (true) {
             ScreenBuffer buffer = new ScreenBuffer();
             addTitleToBuffer(buffer);
@@ -251,23 +311,8 @@ public class ProfileSelector {
             
             // List profiles that can be deleted
             for (int i = 0; i < profiles.size(); i++) {
-                String profileId = profiles.get(i);
                 String prefix = (i == selectedIndex) ? colored("→ ", "\033[31m") : "  ";
-                
-                String displayName = profileId;
-                try {
-                    PlayerProfile p = storage.loadProfile(profileId);
-                    displayName = p.getDisplayName();
-                    int stars = p.getAllGameProgress().values().stream()
-                        .mapToInt(gp -> (int) gp.getAllStarProgress().values().stream()
-                            .filter(sp -> sp.isCollected())
-                            .count())
-                        .sum();
-                    displayName += colored(" (" + stars + " stars)", DIM);
-                } catch (StorageException ignored) {
-                }
-                
-                buffer.addLine(prefix + colored("✕", "\033[31m") + " " + displayName);
+                buffer.addLine(prefix + colored("✕", "\033[31m") + " " + names.get(i));
             }
             
             addDividerToBuffer(buffer);
@@ -281,22 +326,17 @@ public class ProfileSelector {
             buffer.addLine("↑↓ navigate · enter select");
             addStarBufferLines(buffer);
             
-            buffer.printWithArt();
-            terminal.flush();
+            if (!session.hasPendingKeys()) {
+                buffer.printWithArt();
+            }
             
-            int key = readKey();
+            KeyEvent key = session.nextKey();
             
-            if (key == 27) { // ESC sequence
-                int next1 = readKey();
-                if (next1 == 91) { // '[' - arrow key
-                    int next2 = readKey();
-                    if (next2 == 65) { // Up arrow
-                        selectedIndex = (selectedIndex - 1 + totalOptions) % totalOptions;
-                    } else if (next2 == 66) { // Down arrow
-                        selectedIndex = (selectedIndex + 1) % totalOptions;
-                    }
-                }
-            } else if (key == 10 || key == 13) { // Enter
+            if (key.getType() == KeyType.UP) {
+                selectedIndex = Math.floorMod(selectedIndex - key.getCount(), totalOptions);
+            } else if (key.getType() == KeyType.DOWN) {
+                selectedIndex = Math.floorMod(selectedIndex + key.getCount(), totalOptions);
+            } else if (key.getType() == KeyType.ENTER) {
                 if (selectedIndex == cancelIndex) {
                     return; // Go back to main menu
                 } else {
@@ -311,7 +351,7 @@ public class ProfileSelector {
                     }
                     return; // Go back to main menu
                 }
-            } else if (key == 'q' || key == 'Q') {
+            } else if (key.is('q') || key.getType() == KeyType.EOF) {
                 return; // Go back to main menu
             }
         }
@@ -349,24 +389,22 @@ public class ProfileSelector {
             buffer.addLine("↑↓ navigate · enter select");
             addStarBufferLines(buffer);
             
-            buffer.printWithArt();
-            terminal.flush();
+            if (!session.hasPendingKeys()) {
+                buffer.printWithArt();
+            }
             
-            int key = readKey();
+            KeyEvent key = session.nextKey();
             
-            if (key == 27) { // ESC sequence
-                int next1 = readKey();
-                if (next1 == 91) { // '[' - arrow key
-                    int next2 = readKey();
-                    if (next2 == 65 || next2 == 66) { // Up or Down arrow
-                        selectedIndex = 1 - selectedIndex; // Toggle between 0 and 1
-                    }
+            if (key.getType() == KeyType.UP || key.getType() == KeyType.DOWN) {
+                // Toggle between 0 and 1, once per press
+                if (key.getCount() % 2 == 1) {
+                    selectedIndex = 1 - selectedIndex;
                 }
-            } else if (key == 10 || key == 13) { // Enter
+            } else if (key.getType() == KeyType.ENTER) {
                 return selectedIndex == 0;
-            } else if (key == 'q' || key == 'Q' || key == 'n' || key == 'N') {
+            } else if (key.is('q') || key.is('n') || key.getType() == KeyType.EOF) {
                 return false;
-            } else if (key == 'y' || key == 'Y') {
+            } else if (key.is('y')) {
                 return true;
             }
         }
@@ -393,16 +431,12 @@ public class ProfileSelector {
         // No additional lines needed here
     }
     
-    private int readKey() {
-        try {
-            return terminal.reader().read();
-        } catch (IOException e) {
-            return -1;
-        }
-    }
-    
-    // cleanup when done
+    // cleanup when done - a shared terminal is left for its owner
     public void close() {
+        if (!ownsTerminal) {
+            return;
+        }
+        session.close();
         try {
             terminal.close();
         } catch (IOException ignored) {
@@ -0,0 +1,342 @@
+package com.completionist.ui;
+
+import com.completionist.model.*;
+import com.completionist.progress.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.completionist.ui.ConsoleColors.*;
+import static com.completionist.ui.ConsoleUtils.*;
+
+// ready-made dome, galaxy and star rows for the list screens
+// each row is formatted once for the current mode and spoiler setting,
+// in both its plain and highlighted form, and kept until a progress event
+// says one of its stars changed. moving the cursor just swaps which cached
+// form two rows use - nothing gets counted or formatted again
+//
+// unlock brackets depend on the whole mode count, so after a change the
+// count is redone once and only rows whose lock state flipped get rebuilt
+public class ProgressView implements ProgressListener {
+    private static final String SELECTED_PREFIX = colored("→ ", CYAN);
+    private static final String LUIGI_PREFIX = CharacterMode.LUIGI.getStarPrefix();
+
+    private final PlayerProfile player;
+    private final GameProgress progress;
+
+    // star id -> where it lives, so an event finds its rows without a search
+    private final Map<String, Star> stars = new HashMap<>();
+    private final Map<Star, Galaxy> galaxyOf = new HashMap<>();
+    private final Map<Galaxy, Dome> domeOf = new HashMap<>();
+
+    // everything below was built for this mode and spoiler setting
+    private CharacterMode mode;
+    private boolean spoilers;
+
+    private final Map<Dome, Row> domeRows = new HashMap<>();
+    private final Map<Galaxy, Row> galaxyRows = new HashMap<>();
+    private final Map<Star, Row> starRows = new HashMap<>();
+    private final Map<Galaxy, Integer> galaxyCounts = new HashMap<>();
+
+    // mode star counts behind the lock states, -1 = count again
+    private int domeStarCount = -1;   // ConsoleUtils.countModeStars
+    private int galaxyStarCount = -1; // mario/luigi stars, no green stars
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    public ProgressView(PlayerProfile player, Game game, GameProgress progress) {
+        this.player = player;
+        this.progress = progress;
+        for (Dome dome : game.getDomes()) {
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                domeOf.put(galaxy, dome);
+                for (Star star : galaxy.getStars()) {
+                    stars.put(star.getId(), star);
+                    galaxyOf.put(star, galaxy);
+                }
+            }
+        }
+        progress.addListener(this);
+    }
+
+    // stop listening (the view is useless after this)
+    public void close() {
+        progress.removeListener(this);
+    }
+
+    // -- progress events --
+
+    // drop the changed star's rows and the galaxy and dome it's in
+    @Override
+    public void starChanged(String starId) {
+        String baseId = starId.startsWith(LUIGI_PREFIX) && !LUIGI_PREFIX.isEmpty()
+            ? starId.substring(LUIGI_PREFIX.length())
+            : starId;
+        domeStarCount = -1;
+        galaxyStarCount = -1;
+
+        Star star = stars.get(baseId);
+        if (star == null) {
+            return;
+        }
+        starRows.remove(star);
+        Galaxy galaxy = galaxyOf.get(star);
+        galaxyRows.remove(galaxy);
+        galaxyCounts.remove(galaxy);
+        domeRows.remove(domeOf.get(galaxy));
+    }
+
+    // -- rows --
+
+    // numbered dome line for the main menu
+    public StyledText domeRow(Dome dome, int index, boolean selected) {
+        return dome(dome).numbered(index, selected);
+    }
+
+    // the same line without a number, for the galaxy list header
+    public StyledText domeHeader(Dome dome) {
+        return dome(dome).header();
+    }
+
+    // numbered galaxy line with progress bar
+    public StyledText galaxyRow(Galaxy galaxy, int index, boolean selected) {
+        return galaxy(galaxy).numbered(index, selected);
+    }
+
+    // stars collected in a galaxy for the current mode
+    public int galaxyCollected(Galaxy galaxy) {
+        sync();
+        Integer count = galaxyCounts.get(galaxy);
+        if (count == null) {
+            String starPrefix = mode.getStarPrefix();
+            int collected = 0;
+            for (Star star : galaxy.getStars()) {
+                if (progress.isStarCollected(starPrefix + star.getId())) {
+                    collected++;
+                }
+            }
+            count = collected;
+            galaxyCounts.put(galaxy, count);
+        }
+        return count;
+    }
+
+    // name line, plus a line each for note and difficulty if it has them
+    public int starRowLines(Star star) {
+        return 1 + star(star).details.length;
+    }
+
+    // a star's lines for the star list
+    public void addStarRows(ScreenBuffer buffer, Star star, int index, boolean selected) {
+        Row row = star(star);
+        buffer.addLine(row.numbered(index, selected));
+        for (StyledText detail : row.details) {
+            buffer.addLine(detail);
+        }
+    }
+
+    // Star is visible if:
+    // - It's not hidden by default, OR
+    // - It has been revealed (by hand or because its unlock condition is met), OR
+    // - Spoilers are enabled
+    public boolean isStarVisible(Star star) {
+        return !star.isHiddenByDefault()
+            || progress.isStarRevealed(player.getCharacterMode().getStarPrefix() + star.getId())
+            || player.isSpoilersEnabled();
+    }
+
+    // star icon with mode-appropriate colors
+    public static String starIcon(Star star, boolean collected, CharacterMode mode) {
+        return StarIcons.icon(star.getType(), collected, mode);
+    }
+
+    // make a progress bar with character-appropriate colors
+    static StringBuilder appendModeProgressBar(StringBuilder out, int collected, int total, CharacterMode mode) {
+        double percentage = total > 0 ? (collected / (double) total) : 0;
+        int filled = Math.max(0, (int) (percentage * 6));
+        int empty = Math.max(0, 6 - filled);
+
+        out.append(mode == CharacterMode.LUIGI ? GREEN : PROGRESS_FILLED);
+        for (int i = 0; i < filled; i++) {
+            out.append('✦');
+        }
+        out.append(RESET).append(PROGRESS_EMPTY);
+        for (int i = 0; i < empty; i++) {
+            out.append('✧');
+        }
+        return out.append(RESET);
+    }
+
+    // -- building --
+
+    // a new mode or spoiler setting makes every cached row wrong
+    private void sync() {
+        CharacterMode currentMode = player.getCharacterMode();
+        boolean currentSpoilers = player.isSpoilersEnabled();
+        if (currentMode != mode || currentSpoilers != spoilers) {
+            mode = currentMode;
+            spoilers = currentSpoilers;
+            domeRows.clear();
+            galaxyRows.clear();
+            starRows.clear();
+            galaxyCounts.clear();
+            domeStarCount = -1;
+            galaxyStarCount = -1;
+        }
+        if (domeStarCount < 0) {
+            recountLocks();
+        }
+    }
+
+    // counts changed - rows whose lock flipped are stale, the rest stay
+    private void recountLocks() {
+        domeStarCount = countModeStars(progress, mode);
+        galaxyStarCount = mode == CharacterMode.MARIO
+            ? player.getMarioStarCount(progress)
+            : player.getLuigiStarCount(progress);
+        domeRows.entrySet().removeIf(entry -> entry.getValue().unlocked != isDomeUnlocked(entry.getKey()));
+        galaxyRows.entrySet().removeIf(entry -> entry.getValue().unlocked != isGalaxyUnlocked(entry.getKey()));
+    }
+
+    private boolean isDomeUnlocked(Dome dome) {
+        return isDomeUnlockedForMode(dome, progress, mode, domeStarCount);
+    }
+
+    // galaxies only lock on a star count
+    private boolean isGalaxyUnlocked(Galaxy galaxy) {
+        return galaxy.getUnlockCondition() == null ||
+            (galaxy.getUnlockCondition() instanceof TotalStarsCondition &&
+             galaxyStarCount >= ((TotalStarsCondition) galaxy.getUnlockCondition()).getRequiredStars());
+    }
+
+    private Row dome(Dome dome) {
+        sync();
+        Row row = domeRows.get(dome);
+        if (row == null) {
+            boolean unlocked = isDomeUnlocked(dome);
+            line.setLength(0);
+            appendDomeForMode(line, dome, mode, countDomeStarsForMode(dome, progress, mode), unlocked);
+            row = new Row(line.toString(), unlocked);
+            domeRows.put(dome, row);
+        }
+        return row;
+    }
+
+    private Row galaxy(Galaxy galaxy) {
+        sync();
+        Row row = galaxyRows.get(galaxy);
+        if (row == null) {
+            boolean unlocked = isGalaxyUnlocked(galaxy);
+            row = new Row(formatGalaxy(galaxy, unlocked), unlocked);
+            galaxyRows.put(galaxy, row);
+        }
+        return row;
+    }
+
+    private Row star(Star star) {
+        sync();
+        Row row = starRows.get(star);
+        if (row == null) {
+            row = buildStar(star);
+            starRows.put(star, row);
+        }
+        return row;
+    }
+
+    // one galaxy line with mode-aware progress
+    private String formatGalaxy(Galaxy galaxy, boolean isUnlocked) {
+        int collected = galaxyCollected(galaxy);
+        int total = galaxy.getTotalItems();
+
+        // Unlock requirement bracket, padded to 6 chars for alignment: [✷XX]
+        // light blue once met, yellow until then
+        line.setLength(0);
+        appendUnlockBracket(line, galaxy.getUnlockCondition(), isUnlocked);
+
+        if (!isUnlocked) {
+            // Locked galaxy - show only [???]
+            appendColored(line, "꩜", DIM).append(' ');
+            appendColored(line, "[???]", BRIGHT_YELLOW);
+        } else {
+            // Unlocked galaxy - show full info with mode colors
+            // Pad galaxy name to consistent width (24 chars)
+            String galaxyColor = mode == CharacterMode.LUIGI ? GREEN : GALAXY;
+            String starColor = mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
+
+            appendColored(line, "꩜", galaxyColor).append(" [");
+            appendPadded(line.append(galaxyColor), galaxy.getName().toUpperCase(), 24).append(RESET).append("] ");
+            appendModeProgressBar(line, collected, total, mode).append("  ");
+            line.append(starColor).append("★ ").append(collected).append(" / ").append(total).append(RESET);
+        }
+        return line.toString();
+    }
+
+    private Row buildStar(Star star) {
+        String effectiveStarId = mode.getStarPrefix() + star.getId();
+        boolean isCollected = progress.isStarCollected(effectiveStarId);
+
+        if (!isStarVisible(star)) {
+            // Hidden star (not unlocked yet or secret not revealed)
+            return new Row(StarIcons.concealed(star.getType()), false);
+        }
+
+        // Visible star with mode-appropriate coloring
+        // Green Stars get bright green color when collected, regardless of mode
+        line.setLength(0);
+        line.append(StarIcons.rowPrefix(star.getType(), isCollected, mode))
+            .append(star.getName().toUpperCase()).append(StarIcons.ROW_END);
+        Row row = new Row(line.toString(), true);
+
+        // note and difficulty lines under it
+        StarProgress sp = progress.getStarProgress(effectiveStarId);
+        boolean hasNote = sp.getNote() != null && !sp.getNote().isEmpty();
+        boolean hasDifficulty = sp.getDifficultyRating() != null;
+        row.details = new StyledText[(hasNote ? 1 : 0) + (hasDifficulty ? 1 : 0)];
+        int d = 0;
+        if (hasNote) {
+            row.details[d++] = StyledText.of("   note: " + sp.getNote(), DIM);
+        }
+        if (hasDifficulty) {
+            row.details[d] = StyledText.of("   difficulty: " + sp.getDifficultyStars(), DIM);
+        }
+        return row;
+    }
+
+    // one cached row: its text, and the numbered plain/highlighted forms
+    // for the position it was last shown at
+    private static final class Row {
+        private static final StyledText[] NO_DETAILS = new StyledText[0];
+
+        final String body;
+        final boolean unlocked;
+        StyledText[] details = NO_DETAILS;
+
+        private StyledText header;
+        private int index = -1;
+        private StyledText plain;
+        private StyledText highlighted;
+
+        Row(String body, boolean unlocked) {
+            this.body = body;
+            this.unlocked = unlocked;
+        }
+
+        StyledText header() {
+            if (header == null) {
+                header = StyledText.parse(body);
+            }
+            return header;
+        }
+
+        // "→ 3. ..." or "  3. ..."
+        StyledText numbered(int i, boolean selected) {
+            if (i != index) {
+                String number = (i + 1) + ". ";
+                plain = StyledText.parse("  " + number + body);
+                highlighted = StyledText.parse(SELECTED_PREFIX + number + body);
+                index = i;
+            }
+            return selected ? highlighted : plain;
+        }
+    }
+}
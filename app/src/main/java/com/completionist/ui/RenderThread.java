@@ -0,0 +1,107 @@
+package com.completionist.ui;
+
+import java.util.function.Consumer;
+
+// draws frames on its own thread so the input loop never waits on the terminal
+// the input side hands over finished frames (immutable lines) through a
+// one-slot mailbox - a newer frame replaces one that hasn't been drawn yet,
+// and at most one frame is drawn per FRAME_NANOS
+final class RenderThread {
+    static final long FRAME_NANOS = 16_000_000L; // ~60 frames a second
+
+    // what one frame shows - nothing in here changes after publish
+    static final class Frame {
+        final StyledText[] lines;
+        final boolean withArt;
+
+        Frame(StyledText[] lines, boolean withArt) {
+            this.lines = lines;
+            this.withArt = withArt;
+        }
+    }
+
+    private final Consumer<Frame> drawer;
+    private final Object lock = new Object();
+
+    private Thread thread;
+    private Frame pending;    // newest frame not drawn yet
+    private boolean drawing;
+    private long lastDraw;    // nanoTime of the last draw
+
+    RenderThread(Consumer<Frame> drawer) {
+        this.drawer = drawer;
+        this.lastDraw = System.nanoTime() - FRAME_NANOS;
+    }
+
+    // queue a frame, replacing any older one still waiting
+    void publish(Frame frame) {
+        synchronized (lock) {
+            pending = frame;
+            start();
+            lock.notifyAll();
+        }
+    }
+
+    // wait until everything published is on screen
+    // call before writing to the terminal any other way
+    void awaitIdle() {
+        synchronized (lock) {
+            if (Thread.currentThread() == thread) {
+                return;
+            }
+            while (pending != null || drawing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::drawLoop, "renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void drawLoop() {
+        while (true) {
+            Frame frame;
+            synchronized (lock) {
+                try {
+                    while (pending == null) {
+                        lock.wait();
+                    }
+                    // too soon after the last one - wait, and take whatever is newest by then
+                    long wait = lastDraw + FRAME_NANOS - System.nanoTime();
+                    while (wait > 0) {
+                        lock.wait(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                        wait = lastDraw + FRAME_NANOS - System.nanoTime();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                frame = pending;
+                pending = null;
+                drawing = true;
+            }
+
+            try {
+                drawer.accept(frame);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Could not draw frame: " + e.getMessage());
+            } finally {
+                synchronized (lock) {
+                    drawing = false;
+                    lastDraw = System.nanoTime();
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+}
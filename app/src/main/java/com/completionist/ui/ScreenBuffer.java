@@ -1,106 +1,200 @@
 package com.completionist.ui;
 
+import com.completionist.metrics.FrameRenderEvent;
+import com.completionist.metrics.Metrics;
+import com.completionist.metrics.StartupTrace;
+
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 // buffers screen output to display next to ascii art
+// keep one per screen and clear() it each frame - lines that didn't
+// change are reused instead of being parsed again
+//
+// print*() only hands the lines to the render thread, which does the
+// layout, diff and terminal write - so it returns straight away
 public class ScreenBuffer {
-    private final List<String> lines = new ArrayList<>();
-    private static final int CONTENT_WIDTH = 55;
-    private static final int TOP_PADDING = 6; // stars above content
+    private static final StyledText[] NO_LINES = new StyledText[0];
+
+    // one renderer for the one terminal, it remembers what's on screen
+    // (only touched from the render thread, or while it's idle)
+    private static final FrameRenderer RENDERER = new FrameRenderer(System.out);
+    private static final RenderThread PIPELINE = new RenderThread(ScreenBuffer::draw);
+
+    // told about every frame drawn - headless runs record them (null = nobody)
+    private static volatile FrameListener listener;
+
+    // set from the resize signal, picked up by the next frame
+    private static volatile Layout layout = Layout.DEFAULT;
+    private static Layout drawnLayout; // what the frame on screen was laid out for
+
+    private List<StyledText> lines = new ArrayList<>();
+    private List<StyledText> lastLines = new ArrayList<>();
+
+    // called on the render thread after each frame goes out
+    public interface FrameListener {
+        // lines is the frame's content (don't change it), bytes what was
+        // written for it (0 if nothing changed), renderNanos the layout + diff + write
+        void frameDrawn(StyledText[] lines, int bytes, long renderNanos);
+    }
 
     // add a line
-    public void addLine(String line) {
+    public void addLine(CharSequence line) {
+        int index = lines.size();
+        if (index < lastLines.size()) {
+            StyledText last = lastLines.get(index);
+            if (last.toString().contentEquals(line)) {
+                lines.add(last);
+                return;
+            }
+        }
+        lines.add(StyledText.parse(line.toString()));
+    }
+
+    // add a line that's already been split into styled spans
+    public void addLine(StyledText line) {
         lines.add(line);
     }
 
     // add empty line
     public void addEmptyLine() {
-        lines.add("");
+        lines.add(StyledText.EMPTY);
     }
 
-    // clear buffer
+    // drop lines past this count (to make room for something at the bottom)
+    public void truncate(int size) {
+        int keep = Math.max(0, size);
+        while (lines.size() > keep) {
+            lines.remove(lines.size() - 1);
+        }
+    }
+
+    // clear buffer, keeping this frame's lines around to reuse
     public void clear() {
+        List<StyledText> swap = lastLines;
+        lastLines = lines;
+        lines = swap;
         lines.clear();
     }
 
-    // print everything with ascii art on both sides
-    // uses buffered output for less flickering
-    public void printWithArt() {
-        int artLineCount = ConsoleUtils.getAsciiArtLineCount();
-        int contentLines = lines.size();
-        
-        // match ascii art height exactly
-        int totalLines = artLineCount;
-
-        // double buffer - build everything first
-        StringBuilder output = new StringBuilder();
-        
-        // move cursor home (less flicker than clearing)
-        output.append("\033[H");
-        
-        // build all lines
-        for (int i = 0; i < totalLines; i++) {
-            String contentLine;
-            
-            if (i < TOP_PADDING) {
-                // top padding with stars
-                contentLine = ConsoleUtils.getStarFillLine(i);
-            } else if (i < TOP_PADDING + contentLines) {
-                // actual content wrapped with stars
-                contentLine = ConsoleUtils.wrapContentWithStars(lines.get(i - TOP_PADDING), CONTENT_WIDTH, i);
-            } else {
-                // bottom padding with stars
-                contentLine = ConsoleUtils.getStarFillLine(i);
-            }
+    // send frames to the terminal's own stream instead of System.out
+    public static void setOutput(OutputStream out) {
+        PIPELINE.awaitIdle();
+        RENDERER.setOutput(out);
+    }
+
+    // forget the last frame - call after anything else writes to the screen
+    public static void invalidate() {
+        PIPELINE.awaitIdle();
+        RENDERER.invalidate();
+    }
+
+    // clear the terminal frames go to (not System.out - headless runs have their own)
+    public static void clearScreen() {
+        PIPELINE.awaitIdle();
+        RENDERER.clearScreen();
+    }
 
-            String leftArt = ConsoleUtils.getAsciiArtLeft(i);
-            String rightArt = ConsoleUtils.getAsciiArtRight(i);
-            
-            // clear rest of line to handle variable lengths
-            output.append(leftArt).append(contentLine).append(rightArt).append("\033[K\n");
+    public static void setFrameListener(FrameListener frameListener) {
+        PIPELINE.awaitIdle();
+        listener = frameListener;
+    }
+
+    // wait for frames still on their way to the terminal
+    // anything that writes to the terminal itself calls this first
+    public static void awaitRendered() {
+        PIPELINE.awaitIdle();
+    }
+
+    // the terminal changed size (0 = unknown) - the next frame is laid out
+    // for it and drawn in full
+    public static void resize(int columns, int rows) {
+        layout = Layout.forSize(columns, rows);
+    }
+
+    // layout for this frame, a different one than last time means redraw everything
+    private static Layout beginLayout() {
+        Layout current = layout;
+        if (current != drawnLayout) {
+            RENDERER.invalidate();
+            drawnLayout = current;
         }
-        
-        // clear anything below
-        output.append("\033[J");
-        
-        // print all at once
-        System.out.print(output);
-        System.out.flush();
+        return current;
+    }
+
+    // print everything with ascii art on both sides
+    public void printWithArt() {
+        PIPELINE.publish(new RenderThread.Frame(lines.toArray(NO_LINES), true));
     }
 
     // print without ascii art (for special screens like 100% completion)
     // still has the starfield background look
     public void printWithoutArt() {
-        int artLineCount = ConsoleUtils.getAsciiArtLineCount();
-        int contentLines = lines.size();
-        
-        int totalLines = artLineCount;
-
-        StringBuilder output = new StringBuilder();
-        output.append("\033[H");
-        
-        for (int i = 0; i < totalLines; i++) {
-            String contentLine;
-            
-            if (i < TOP_PADDING) {
-                contentLine = ConsoleUtils.getStarFillLine(i);
-            } else if (i < TOP_PADDING + contentLines) {
-                contentLine = ConsoleUtils.wrapContentWithStars(lines.get(i - TOP_PADDING), CONTENT_WIDTH, i);
+        PIPELINE.publish(new RenderThread.Frame(lines.toArray(NO_LINES), false));
+    }
+
+    // render thread - lay the frame out and write what changed
+    private static void draw(RenderThread.Frame content) {
+        long start = System.nanoTime();
+        FrameRenderEvent event = new FrameRenderEvent();
+        event.begin();
+        Layout current = beginLayout();
+        FrameBuilder frame = RENDERER.beginFrame();
+
+        for (int i = 0; i < current.rows(); i++) {
+            if (content.withArt) {
+                frame.append(current.artLeft(i));
+                writeContentLine(frame, current, content.lines, i);
+                frame.append(current.artRight(i));
             } else {
-                contentLine = ConsoleUtils.getStarFillLine(i);
+                // no ascii art - just stars and content
+                frame.append(current.starPatternLeft(i));
+                writeContentLine(frame, current, content.lines, i);
             }
+            RENDERER.endRow();
+        }
+
+        int bytes = RENDERER.render();
+        long renderNanos = System.nanoTime() - start;
+        if (Metrics.isEnabled()) {
+            Metrics.RENDER.record(renderNanos);
+            Metrics.FRAME_BYTES.add(bytes);
+        }
+        Metrics.frameShown();
+        StartupTrace.frameShown();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.lines = content.lines.length;
+            event.rows = current.rows();
+            event.withArt = content.withArt;
+            event.bytes = bytes;
+            event.commit();
+        }
 
-            // no ascii art - just stars and content
-            String leftStars = ConsoleUtils.getStarPatternLeft(i);
-            String rightStars = ConsoleUtils.getStarPatternRight(i);
-            
-            output.append(leftStars).append(contentLine).append(rightStars).append("\033[K\n");
+        FrameListener frameListener = listener;
+        if (frameListener != null) {
+            frameListener.frameDrawn(content.lines, bytes, renderNanos);
         }
-        
-        output.append("\033[J");
-        System.out.print(output);
-        System.out.flush();
+    }
+
+    // middle column for one screen row
+    private static void writeContentLine(FrameBuilder frame, Layout current, StyledText[] lines, int i) {
+        int top = current.topPadding();
+        if (i >= top && i < top + lines.length) {
+            // actual content wrapped with stars
+            current.writeContent(frame, lines[i - top], i);
+        } else {
+            // top and bottom padding with stars
+            frame.append(current.starFill(i));
+        }
+    }
+
+    // lines of content that fit between the top padding and the bottom of the frame
+    // (fewer on a short terminal)
+    public static int contentRows() {
+        return layout.contentRows();
     }
 
     // line count
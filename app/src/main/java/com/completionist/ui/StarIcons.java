@@ -0,0 +1,80 @@
+package com.completionist.ui;
+
+import com.completionist.model.CharacterMode;
+import com.completionist.model.StarType;
+
+import static com.completionist.ui.ConsoleColors.*;
+import static com.completionist.ui.ConsoleUtils.*;
+
+// every star icon and star row prefix the lists can show, built once
+// there are only (type x collected x mode) of them, so drawing a star
+// row is a lookup plus the name - no colors get stitched together per frame
+final class StarIcons {
+    private static final StarType[] TYPES = StarType.values();
+    private static final CharacterMode[] MODES = CharacterMode.values();
+
+    private static final String[] ICONS = new String[TYPES.length * 2 * MODES.length];
+    private static final String[] ROW_PREFIXES = new String[ICONS.length]; // "icon [" plus the name color
+    private static final String[] CONCEALED = new String[TYPES.length];    // whole row for a star you can't see yet
+
+    // closes the name after a row prefix
+    static final String ROW_END = RESET + "]";
+
+    static {
+        for (StarType type : TYPES) {
+            for (int c = 0; c < 2; c++) {
+                for (CharacterMode mode : MODES) {
+                    int i = index(type, c == 1, mode);
+                    ICONS[i] = buildIcon(type, c == 1, mode);
+                    ROW_PREFIXES[i] = ICONS[i] + " [" + nameColor(type, c == 1, mode);
+                }
+            }
+            // comets are locked until their condition is met, the rest just hidden
+            CONCEALED[type.ordinal()] = type == StarType.COMET ? formatLockedStar() : formatHiddenStar();
+        }
+    }
+
+    private StarIcons() {
+    }
+
+    static String icon(StarType type, boolean collected, CharacterMode mode) {
+        return ICONS[index(type, collected, mode)];
+    }
+
+    // start of a star row, append the name and ROW_END
+    static String rowPrefix(StarType type, boolean collected, CharacterMode mode) {
+        return ROW_PREFIXES[index(type, collected, mode)];
+    }
+
+    static String concealed(StarType type) {
+        return CONCEALED[type.ordinal()];
+    }
+
+    private static int index(StarType type, boolean collected, CharacterMode mode) {
+        return (type.ordinal() * 2 + (collected ? 1 : 0)) * MODES.length + mode.ordinal();
+    }
+
+    private static String buildIcon(StarType type, boolean collected, CharacterMode mode) {
+        if (!collected) {
+            return colored("☆", STAR_UNCOLLECTED);
+        }
+        // comet and green stars keep their own color in both modes
+        return switch (type) {
+            case COMET -> colored("☄", COMET_STAR);
+            case GREEN -> colored("✦", GREEN_STAR);
+            case SECRET -> colored("✦", modeColor(mode));
+            default -> colored("⭑", modeColor(mode));
+        };
+    }
+
+    private static String nameColor(StarType type, boolean collected, CharacterMode mode) {
+        if (!collected) {
+            return STAR_UNCOLLECTED;
+        }
+        return type == StarType.GREEN ? GREEN_STAR : modeColor(mode);
+    }
+
+    private static String modeColor(CharacterMode mode) {
+        return mode == CharacterMode.LUIGI ? GREEN : STAR_COLLECTED;
+    }
+}
@@ -0,0 +1,299 @@
+package com.completionist.ui;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// one line of colored terminal text
+// keeps the visible text and the ansi style codes apart so the display
+// width is worked out once (no regex) and wide glyphs count as 2 columns
+public final class StyledText {
+    public static final StyledText EMPTY = new StyledText(new String[0], new String[0], "");
+
+    private final String[] spans;       // visible text pieces
+    private final String[] styles;      // escape codes written before spans[i] ("" if none)
+    private final String trailingStyle; // escape codes after the last span (usually a reset)
+    private final int width;            // terminal columns the text takes up
+
+    // built lazily, safe to share since nothing here ever changes
+    private String ansi;
+    private byte[] utf8;
+    private Fitted fitted; // last fit() result, the same width gets asked for every frame
+
+    private StyledText(String[] spans, String[] styles, String trailingStyle) {
+        this.spans = spans;
+        this.styles = styles;
+        this.trailingStyle = trailingStyle;
+        int total = 0;
+        for (String span : spans) {
+            total += displayWidth(span);
+        }
+        this.width = total;
+    }
+
+    // plain text, no color
+    public static StyledText plain(String text) {
+        return of(text, "");
+    }
+
+    // text in one color, reset after
+    public static StyledText of(String text, String style) {
+        if (text.isEmpty() && style.isEmpty()) {
+            return EMPTY;
+        }
+        String trailing = style.isEmpty() ? "" : ConsoleColors.RESET;
+        return new StyledText(new String[] {text}, new String[] {style}, trailing);
+    }
+
+    // split a string with ansi codes (like colored(...) output) into spans
+    public static StyledText parse(String raw) {
+        if (raw.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> spans = new ArrayList<>();
+        List<String> styles = new ArrayList<>();
+        StringBuilder style = new StringBuilder();
+        int textStart = -1;
+
+        int i = 0;
+        int length = raw.length();
+        while (i < length) {
+            if (raw.charAt(i) == '\033' && i + 1 < length && raw.charAt(i + 1) == '[') {
+                // CSI sequence runs until its final byte (@ to ~)
+                int end = i + 2;
+                while (end < length && (raw.charAt(end) < '@' || raw.charAt(end) > '~')) {
+                    end++;
+                }
+                end = Math.min(end + 1, length);
+
+                if (textStart >= 0) {
+                    spans.add(raw.substring(textStart, i));
+                    styles.add(style.toString());
+                    style.setLength(0);
+                    textStart = -1;
+                }
+                style.append(raw, i, end);
+                i = end;
+            } else {
+                if (textStart < 0) {
+                    textStart = i;
+                }
+                i++;
+            }
+        }
+        if (textStart >= 0) {
+            spans.add(raw.substring(textStart));
+            styles.add(style.toString());
+            style.setLength(0);
+        }
+
+        StyledText text = new StyledText(spans.toArray(new String[0]), styles.toArray(new String[0]), style.toString());
+        text.ansi = raw;
+        return text;
+    }
+
+    // columns on screen
+    public int width() {
+        return width;
+    }
+
+    // visible text without any styling
+    public String plainText() {
+        StringBuilder plain = new StringBuilder();
+        for (String span : spans) {
+            plain.append(span);
+        }
+        return plain.toString();
+    }
+
+    // cut to at most this many columns, never splitting a wide glyph
+    // adds a reset so colors don't leak past the cut
+    public StyledText truncate(int columns) {
+        if (width <= columns) {
+            return this;
+        }
+
+        List<String> newSpans = new ArrayList<>();
+        List<String> newStyles = new ArrayList<>();
+        int used = 0;
+        for (int s = 0; s < spans.length && used < columns; s++) {
+            String span = spans[s];
+            int cut = 0;
+            int previousWidth = 0;
+            while (cut < span.length()) {
+                int cp = span.codePointAt(cut);
+                int w = codePointWidth(cp, previousWidth);
+                if (used + w > columns) {
+                    break;
+                }
+                used += w;
+                previousWidth = w;
+                cut += Character.charCount(cp);
+            }
+            newSpans.add(span.substring(0, cut));
+            newStyles.add(styles[s]);
+            if (cut < span.length()) {
+                break;
+            }
+        }
+        return new StyledText(newSpans.toArray(new String[0]), newStyles.toArray(new String[0]), ConsoleColors.RESET);
+    }
+
+    // add spaces on the right until it's this wide
+    public StyledText padRight(int columns) {
+        if (width >= columns) {
+            return this;
+        }
+
+        String[] newSpans = new String[spans.length + 1];
+        String[] newStyles = new String[styles.length + 1];
+        System.arraycopy(spans, 0, newSpans, 0, spans.length);
+        System.arraycopy(styles, 0, newStyles, 0, styles.length);
+        newSpans[spans.length] = " ".repeat(columns - width);
+        newStyles[styles.length] = trailingStyle;
+        return new StyledText(newSpans, newStyles, "");
+    }
+
+    // exactly this many columns - truncate or pad
+    // (a wide glyph on the cut leaves it a column short, so pad after truncating too)
+    public StyledText fit(int columns) {
+        Fitted last = fitted;
+        if (last == null || last.columns != columns) {
+            StyledText result = width > columns ? truncate(columns).padRight(columns) : padRight(columns);
+            last = new Fitted(columns, result);
+            fitted = last;
+        }
+        return last.text;
+    }
+
+    // a fit() result and the columns it was asked for - kept together so
+    // another thread never sees one without the other
+    private static final class Fitted {
+        final int columns;
+        final StyledText text;
+
+        Fitted(int columns, StyledText text) {
+            this.columns = columns;
+            this.text = text;
+        }
+    }
+
+    // ready-to-print utf-8 bytes
+    public byte[] utf8() {
+        byte[] bytes = utf8;
+        if (bytes == null) {
+            bytes = toString().getBytes(StandardCharsets.UTF_8);
+            utf8 = bytes;
+        }
+        return bytes;
+    }
+
+    // the text with its escape codes, ready to print
+    @Override
+    public String toString() {
+        String text = ansi;
+        if (text == null) {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < spans.length; i++) {
+                out.append(styles[i]).append(spans[i]);
+            }
+            out.append(trailingStyle);
+            text = out.toString();
+            ansi = text;
+        }
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StyledText && toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    // -- display width --
+
+    // columns for a run of plain text (no escape codes)
+    public static int displayWidth(CharSequence text) {
+        int total = 0;
+        int previousWidth = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int cp = Character.codePointAt(text, i);
+            int w = codePointWidth(cp, previousWidth);
+            total += w;
+            previousWidth = w;
+            i += Character.charCount(cp);
+        }
+        return total;
+    }
+
+    // columns for one code point
+    // previousWidth lets the emoji selector (U+FE0F) widen the glyph before it
+    private static int codePointWidth(int cp, int previousWidth) {
+        if (cp == 0xFE0F) {
+            return previousWidth == 1 ? 1 : 0;
+        }
+        return codePointWidth(cp);
+    }
+
+    static int codePointWidth(int cp) {
+        if (cp < 0x20 || (cp >= 0x7F && cp < 0xA0)) {
+            return 0; // control characters
+        }
+        if (cp < 0x1100) {
+            return 1; // fast path for latin and friends
+        }
+
+        int type = Character.getType(cp);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.FORMAT) {
+            return 0; // combining marks, variation selectors, zero width joiner
+        }
+        return isWide(cp) ? 2 : 1;
+    }
+
+    // east asian wide/fullwidth and emoji-presentation ranges
+    private static boolean isWide(int cp) {
+        return (cp >= 0x1100 && cp <= 0x115F)     // hangul jamo
+            || (cp >= 0x231A && cp <= 0x231B)     // ⌚ ⌛
+            || (cp >= 0x23E9 && cp <= 0x23EC)
+            || cp == 0x23F0 || cp == 0x23F3
+            || (cp >= 0x25FD && cp <= 0x25FE)
+            || (cp >= 0x2614 && cp <= 0x2615)
+            || (cp >= 0x2648 && cp <= 0x2653)     // zodiac
+            || cp == 0x267F || cp == 0x2693 || cp == 0x26A1
+            || (cp >= 0x26AA && cp <= 0x26AB)
+            || (cp >= 0x26BD && cp <= 0x26BE)
+            || (cp >= 0x26C4 && cp <= 0x26C5)
+            || cp == 0x26CE || cp == 0x26D4 || cp == 0x26EA
+            || (cp >= 0x26F2 && cp <= 0x26F3)
+            || cp == 0x26F5 || cp == 0x26FA || cp == 0x26FD
+            || cp == 0x2705 || (cp >= 0x270A && cp <= 0x270B)
+            || cp == 0x2728 || cp == 0x274C || cp == 0x274E
+            || (cp >= 0x2753 && cp <= 0x2755) || cp == 0x2757
+            || (cp >= 0x2795 && cp <= 0x2797)
+            || cp == 0x27B0 || cp == 0x27BF
+            || (cp >= 0x2B1B && cp <= 0x2B1C)
+            || cp == 0x2B50 || cp == 0x2B55      // ⭐ ⭕
+            || (cp >= 0x2E80 && cp <= 0x303E)     // cjk radicals, punctuation
+            || (cp >= 0x3041 && cp <= 0x33FF)     // kana, cjk compatibility
+            || (cp >= 0x3400 && cp <= 0x4DBF)
+            || (cp >= 0x4E00 && cp <= 0x9FFF)     // cjk ideographs (彡)
+            || (cp >= 0xA000 && cp <= 0xA4CF)
+            || (cp >= 0xAC00 && cp <= 0xD7A3)     // hangul syllables
+            || (cp >= 0xF900 && cp <= 0xFAFF)
+            || (cp >= 0xFE30 && cp <= 0xFE4F)
+            || (cp >= 0xFF00 && cp <= 0xFF60)     // fullwidth forms
+            || (cp >= 0xFFE0 && cp <= 0xFFE6)
+            || (cp >= 0x1F300 && cp <= 0x1F64F)   // pictographs, emoticons (🌟 🌠 💚)
+            || (cp >= 0x1F680 && cp <= 0x1F6FF)   // transport
+            || (cp >= 0x1F7E0 && cp <= 0x1F7EB)   // colored circles (🟢)
+            || (cp >= 0x1F900 && cp <= 0x1F9FF)
+            || (cp >= 0x1FA70 && cp <= 0x1FAFF)
+            || (cp >= 0x20000 && cp <= 0x3FFFD);
+    }
+}
@@ -0,0 +1,165 @@
+package com.completionist.ui;
+
+import org.jline.reader.LineReader;
+import org.jline.reader.LineReaderBuilder;
+import org.jline.terminal.Attributes;
+import org.jline.terminal.Size;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+
+import java.io.IOException;
+
+// one terminal in raw mode for the whole session
+// screens used to flip raw mode on and off (several tcsetattr calls) on
+// every transition - now it's entered once and only line prompts switch
+// back to line mode while they read
+public class TerminalSession {
+    private final Terminal terminal;
+    private final LineReader lineReader;
+    private final KeyReader keys;
+
+    private Attributes lineAttributes; // how the terminal was before raw mode
+    private Attributes rawAttributes;
+    private boolean raw;
+    private boolean cursorHidden;
+
+    public TerminalSession(Terminal terminal) {
+        this.terminal = terminal;
+        this.lineReader = LineReaderBuilder.builder()
+            .terminal(terminal)
+            .build();
+        this.keys = new KeyReader(terminal);
+
+        // lay frames out for the real size, and again whenever it changes
+        resized();
+        terminal.handle(Terminal.Signal.WINCH, signal -> {
+            resized();
+            keys.post(KeyEvent.of(KeyType.RESIZE));
+        });
+    }
+
+    // the real terminal, with better macOS support - built once at startup,
+    // the profile picker and the main ui both run on it
+    public static Terminal openSystemTerminal() {
+        try {
+            Terminal terminal = TerminalBuilder.builder()
+                .system(true)
+                .jna(true)  // Enable JNA for better native terminal support on macOS
+                .jansi(true)
+                .dumb(false)  // Force non-dumb terminal
+                .build();
+
+            // Log terminal info for debugging (can be removed later)
+            System.err.println("Terminal type: " + terminal.getType());
+            System.err.println("Terminal supports ANSI: " + (terminal.getType().indexOf("dumb") < 0));
+            return terminal;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize terminal", e);
+        }
+    }
+
+    // runs on the signal thread - only swaps in the layout for the new size,
+    // the ui picks it up on its next frame
+    private void resized() {
+        Size size = terminal.getSize();
+        ScreenBuffer.resize(size.getColumns(), size.getRows());
+    }
+
+    public Terminal getTerminal() {
+        return terminal;
+    }
+
+    // raw mode with no echo - only touches the terminal the first time
+    public synchronized void enterRawMode() {
+        if (raw) {
+            return;
+        }
+        if (rawAttributes == null) {
+            lineAttributes = terminal.enterRawMode();
+            Attributes attrs = terminal.getAttributes();
+            attrs.setLocalFlag(Attributes.LocalFlag.ECHO, false);
+            attrs.setLocalFlag(Attributes.LocalFlag.ECHONL, false);
+            attrs.setLocalFlag(Attributes.LocalFlag.ICANON, false);
+            rawAttributes = attrs;
+        }
+        terminal.setAttributes(rawAttributes);
+        raw = true;
+    }
+
+    // back to normal line editing
+    public synchronized void enterLineMode() {
+        if (raw) {
+            terminal.setAttributes(lineAttributes);
+            raw = false;
+        }
+    }
+
+    // ask for a line of text, then go back to whatever mode we were in
+    public String readLine(String prompt) {
+        boolean wasRaw = raw;
+        boolean wasHidden = cursorHidden;
+        keys.pause();
+        ScreenBuffer.awaitRendered(); // the prompt goes under the last frame
+        enterLineMode();
+        showCursor();
+        try {
+            return lineReader.readLine(prompt);
+        } finally {
+            if (wasRaw) {
+                enterRawMode();
+            }
+            if (wasHidden) {
+                hideCursor();
+            }
+            keys.resume();
+        }
+    }
+
+    // next key press, waits for one
+    public KeyEvent nextKey() {
+        return keys.next();
+    }
+
+    // next key, or TICK once the timeout runs out - for animations
+    public KeyEvent nextKey(long timeoutMillis) {
+        KeyEvent key = keys.next(timeoutMillis);
+        return key != null ? key : KeyEvent.of(KeyType.TICK);
+    }
+
+    // more keys queued up already?
+    public boolean hasPendingKeys() {
+        return keys.hasPending();
+    }
+
+    public synchronized void hideCursor() {
+        if (!cursorHidden) {
+            ScreenBuffer.awaitRendered();
+            terminal.writer().print("\033[?25l");
+            terminal.flush();
+            cursorHidden = true;
+        }
+    }
+
+    public synchronized void showCursor() {
+        if (cursorHidden) {
+            ScreenBuffer.awaitRendered();
+            terminal.writer().print("\033[?25h");
+            terminal.flush();
+            cursorHidden = false;
+        }
+    }
+
+    public void flush() {
+        terminal.flush();
+    }
+
+    // leave the terminal how we found it - safe to call more than once
+    // (the terminal itself is closed by whoever opened it)
+    public void close() {
+        keys.close();
+        synchronized (this) {
+            showCursor();
+            enterLineMode();
+        }
+    }
+}
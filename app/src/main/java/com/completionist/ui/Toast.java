@@ -0,0 +1,68 @@
+package com.completionist.ui;
+
+import static com.completionist.ui.ConsoleColors.*;
+
+// a few boxed lines at the bottom of whatever screen is up, gone after a while
+// the border sweeps in first and the corner stars twinkle - keys keep working
+// underneath the whole time
+public class Toast implements Animator.Animation {
+    private static final long SWEEP_MILLIS = 400;
+    private static final long TWINKLE_MILLIS = 300;
+
+    private final String color;
+    private final long durationMillis;
+    private final String[] lines;
+    private final int innerWidth;
+
+    public Toast(String color, long durationMillis, String... lines) {
+        this.color = color;
+        this.durationMillis = durationMillis;
+        this.lines = lines;
+        int widest = 0;
+        for (String line : lines) {
+            widest = Math.max(widest, StyledText.displayWidth(line));
+        }
+        this.innerWidth = widest + 2;
+    }
+
+    @Override
+    public boolean draw(ScreenBuffer buffer, long elapsedMillis) {
+        if (elapsedMillis >= durationMillis) {
+            return false;
+        }
+
+        // make room at the bottom if the screen is full
+        buffer.truncate(ScreenBuffer.contentRows() - lines.length - 2);
+
+        int swept = (int) Math.min(innerWidth, innerWidth * elapsedMillis / SWEEP_MILLIS);
+        char star = (elapsedMillis / TWINKLE_MILLIS) % 2 == 0 ? '✦' : '✧';
+        StringBuilder row = new StringBuilder(innerWidth * 3 + 16);
+
+        row.append(color).append(star);
+        border(row, swept).append(star).append(RESET);
+        buffer.addLine(row);
+
+        for (String line : lines) {
+            row.setLength(0);
+            row.append(color).append("│ ").append(line);
+            for (int i = StyledText.displayWidth(line) + 2; i < innerWidth; i++) {
+                row.append(' ');
+            }
+            buffer.addLine(row.append(" │").append(RESET));
+        }
+
+        row.setLength(0);
+        row.append(color).append(star);
+        border(row, swept).append(star).append(RESET);
+        buffer.addLine(row);
+        return true;
+    }
+
+    // "────    " - the part of the border swept in so far
+    private StringBuilder border(StringBuilder row, int swept) {
+        for (int i = 0; i < innerWidth; i++) {
+            row.append(i < swept ? '─' : ' ');
+        }
+        return row;
+    }
+}
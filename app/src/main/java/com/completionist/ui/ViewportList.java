@@ -0,0 +1,128 @@
+package com.completionist.ui;
+
+import java.util.function.IntUnaryOperator;
+
+// scrolling window over a list that may not fit on screen
+// only the entries inside the window get formatted, so a frame costs the
+// same for 10 entries or 10,000 - the screen used to format everything
+// and then the art height silently cut the bottom off
+public class ViewportList {
+
+    // adds one entry's lines to the buffer
+    public interface EntryWriter {
+        void write(ScreenBuffer buffer, int index, boolean selected);
+    }
+
+    private int size;
+    private int selected;
+    private int offset;       // first entry on screen
+    private int visibleCount; // entries that fit last frame, one page
+
+    public ViewportList(int size) {
+        setSize(size);
+    }
+
+    // list grew or shrank - keep selection and scroll in range
+    public void setSize(int size) {
+        this.size = Math.max(0, size);
+        setSelected(selected);
+        offset = Math.min(offset, selected);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSelected() {
+        return selected;
+    }
+
+    public void setSelected(int index) {
+        selected = size == 0 ? 0 : Math.max(0, Math.min(index, size - 1));
+    }
+
+    // single steps wrap around like the menus always have
+    public void move(int delta) {
+        if (size > 0) {
+            selected = Math.floorMod(selected + delta, size);
+        }
+    }
+
+    // a page is however many entries fit last frame, and stops at the ends
+    public void pageUp(int pages) {
+        setSelected(selected - Math.max(1, visibleCount) * pages);
+    }
+
+    public void pageDown(int pages) {
+        setSelected(selected + Math.max(1, visibleCount) * pages);
+    }
+
+    // arrows, page up/down, home/end - false if it's some other key
+    public boolean handleKey(KeyEvent key) {
+        switch (key.getType()) {
+            case UP -> move(-key.getCount());
+            case DOWN -> move(key.getCount());
+            case PAGE_UP -> pageUp(key.getCount());
+            case PAGE_DOWN -> pageDown(key.getCount());
+            case HOME -> setSelected(0);
+            case END -> setSelected(size - 1);
+            case RESIZE, TICK -> {
+                // nothing moves, the next render fits the new height
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // write the entries that fit in height lines
+    // lines says how many lines entry i takes (at least 1)
+    public void render(ScreenBuffer buffer, int height, IntUnaryOperator lines, EntryWriter writer) {
+        if (size == 0 || height <= 0) {
+            visibleCount = 0;
+            return;
+        }
+        scrollToSelected(height, lines);
+
+        int used = 0;
+        int i = offset;
+        while (i < size) {
+            int entryLines = lines.applyAsInt(i);
+            if (used + entryLines > height && i > offset) {
+                break;
+            }
+            writer.write(buffer, i, i == selected);
+            used += entryLines;
+            i++;
+        }
+        visibleCount = i - offset;
+    }
+
+    // " · 12/40" when the list is scrolled or cut off, "" when it all fits
+    public String positionHint() {
+        if (offset == 0 && visibleCount >= size) {
+            return "";
+        }
+        return " · " + (selected + 1) + "/" + size;
+    }
+
+    // move the window just enough to show the selected entry
+    private void scrollToSelected(int height, IntUnaryOperator lines) {
+        if (selected < offset) {
+            offset = selected;
+            return;
+        }
+        // every entry is at least a line, so skip what can't possibly fit
+        offset = Math.max(offset, selected - height + 1);
+
+        int used = 0;
+        for (int i = offset; i <= selected; i++) {
+            used += lines.applyAsInt(i);
+        }
+        while (used > height && offset < selected) {
+            used -= lines.applyAsInt(offset);
+            offset++;
+        }
+    }
+}
@@ -1,14 +1,37 @@
 package com.completionist;
 
+import com.completionist.events.*;
+import com.completionist.loadgen.*;
+import com.completionist.metrics.*;
 import com.completionist.model.*;
 import com.completionist.progress.*;
+import com.completionist.server.*;
+import com.completionist.stats.*;
 import com.completionist.storage.*;
+import com.completionist.ui.*;
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class AppTest {
     private Game smg;
@@ -44,6 +67,13 @@ class AppTest {
         assertEquals("🌟", new SecretStar("test", "Test").getTypeIcon());
         assertEquals("☄️", new CometStar("test", "Test").getTypeIcon());
         assertEquals("🌠", new GrandStar("test", "Test").getTypeIcon());
+        assertEquals(StarType.GREEN, new GreenStar("test", "Test").getType());
+
+        // the icon table hands back the same string every time
+        var comet = new CometStar("test", "Test");
+        var icon = ProgressView.starIcon(comet, true, CharacterMode.LUIGI);
+        assertSame(icon, ProgressView.starIcon(comet, true, CharacterMode.LUIGI));
+        assertTrue(icon.contains("☄"));
     }
 
     @Test void findStar() {
@@ -193,4 +223,619 @@ class AppTest {
         storage.deleteProfile("to-delete");
         assertFalse(storage.profileExists("to-delete"));
     }
+
+    @Test void listProfilesPaged(@TempDir Path tempDir) throws StorageException {
+        StorageService storage = new JsonStorageService(tempDir);
+        for (int i = 0; i < 25; i++) {
+            storage.saveProfile(new PlayerProfile("player" + i, "Player " + i));
+        }
+
+        // walk every page and make sure each id shows up exactly once
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ProfilePage page = storage.listProfiles(cursor, 10);
+            assertTrue(page.getProfileIds().size() <= 10);
+            for (String id : page.getProfileIds()) {
+                assertTrue(seen.add(id), "Duplicate id across pages: " + id);
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test void flatProfilesAreMigrated(@TempDir Path tempDir) throws Exception {
+        // write a profile the old way, straight into the profiles folder
+        StorageService oldLayout = new JsonStorageService(tempDir);
+        oldLayout.saveProfile(new PlayerProfile("old-player", "Old Player"));
+        Path sharded = Files.walk(tempDir)
+            .filter(path -> path.getFileName().toString().equals("old-player.json"))
+            .findFirst().orElseThrow();
+        Files.move(sharded, tempDir.resolve("old-player.json"));
+
+        StorageService storage = new JsonStorageService(tempDir);
+
+        assertFalse(Files.exists(tempDir.resolve("old-player.json")));
+        assertTrue(storage.profileExists("old-player"));
+        assertEquals("Old Player", storage.loadProfile("old-player").getDisplayName());
+    }
+
+    // ui text
+    @Test void styledTextWidth() {
+        var text = StyledText.parse("\033[35m★彡\033[0m ok");
+
+        assertEquals("★彡 ok", text.plainText());
+        assertEquals(6, text.width()); // 彡 is a wide glyph
+        assertEquals(2, StyledText.plain("☄️").width());
+        assertEquals(1, StyledText.plain("𖤓").width());
+
+        // never cut a wide glyph in half, and reset the color after the cut
+        var cut = text.truncate(2);
+        assertEquals("★", cut.plainText());
+        assertTrue(cut.toString().endsWith("\033[0m"));
+        assertEquals(10, text.fit(10).width());
+
+        // a wide glyph across the cut - still exactly as wide as asked
+        var wide = StyledText.parse("ab界界界界");
+        assertEquals(3, wide.fit(3).width());
+        assertEquals("ab ", wide.fit(3).plainText());
+        assertEquals(5, wide.fit(5).width());
+        assertSame(wide.fit(5), wide.fit(5)); // cached by the width asked for
+    }
+
+    @Test void keyParsingAndCoalescing() {
+        var parser = new KeyParser();
+        var queue = new KeyQueue(4);
+        // three up arrows (one in the ESC O form), page down, then 'q'
+        for (char c : "\033[A\033OA\033[A\033[6~q".toCharArray()) {
+            var key = parser.feed(c);
+            if (key != null) {
+                queue.offer(key);
+            }
+        }
+
+        var up = queue.poll();
+        assertEquals(KeyType.UP, up.getType());
+        assertEquals(3, up.getCount()); // folded into one event
+        assertEquals(KeyType.PAGE_DOWN, queue.poll().getType());
+        assertTrue(queue.poll().is('Q'));
+        assertNull(queue.poll());
+
+        // a lone ESC only counts once nothing follows it
+        assertNull(parser.feed(27));
+        assertEquals(KeyType.ESCAPE, parser.timeout().getType());
+    }
+
+    @Test void viewportOnlyFormatsVisibleRows() {
+        var list = new ViewportList(1000);
+        var buffer = new ScreenBuffer();
+        int[] formatted = {0};
+        ViewportList.EntryWriter writer = (out, i, selected) -> {
+            formatted[0]++;
+            out.addLine("row " + i);
+        };
+
+        list.render(buffer, 10, i -> 1, writer);
+        assertEquals(10, formatted[0]);
+
+        // page down twice, the selection stays on screen
+        list.pageDown(2);
+        assertEquals(20, list.getSelected());
+        buffer.clear();
+        formatted[0] = 0;
+        list.render(buffer, 10, i -> 1, writer);
+        assertEquals(10, formatted[0]);
+        assertEquals(10, buffer.size());
+        assertEquals(" · 21/1000", list.positionHint());
+
+        // up from the top wraps to the end
+        list.setSelected(0);
+        list.move(-1);
+        assertEquals(999, list.getSelected());
+    }
+
+    @Test void smallTerminalFramesDontWrap() {
+        var out = new ByteArrayOutputStream();
+        var buffer = new ScreenBuffer();
+        buffer.addLine("a line that is much too long to fit on a forty column terminal");
+        ScreenBuffer.setOutput(out);
+        try {
+            ScreenBuffer.resize(40, 20);
+            assertEquals(19, ScreenBuffer.contentRows()); // padding gives way first
+            buffer.printWithArt();
+            ScreenBuffer.awaitRendered(); // drawn on the render thread
+
+            // rows are addressed one by one, none of them reaches the last column
+            String[] rows = out.toString(StandardCharsets.UTF_8).split("\033\\[\\d+;1H");
+            assertEquals(21, rows.length); // leading "" + 19 rows + the parked cursor
+            for (int i = 1; i < 20; i++) {
+                var row = StyledText.parse(rows[i].replace("\033[K", ""));
+                assertTrue(row.width() <= 39, "row " + i + " is " + row.width() + " wide");
+            }
+        } finally {
+            ScreenBuffer.resize(0, 0);
+            ScreenBuffer.setOutput(System.out);
+        }
+        assertEquals(28, ScreenBuffer.contentRows());
+    }
+
+    @Test void progressViewRebuildsOnlyChangedRows() {
+        var view = new ProgressView(player, smg, progress);
+        Galaxy goodEgg = smg.findGalaxyByStarId("good-egg-snack");
+        Galaxy honeyhive = smg.getDomeById("terrace").getGalaxies().get(1); // needs 3 stars
+
+        var row = view.galaxyRow(goodEgg, 0, false);
+        var locked = view.galaxyRow(honeyhive, 1, false);
+        assertSame(row, view.galaxyRow(goodEgg, 0, false)); // cached
+        assertTrue(view.galaxyRow(goodEgg, 0, true).toString().contains("→"));
+
+        // a progress event only drops the rows that star touches
+        progress.getStarProgress(goodEgg.getStars().get(0).getId()).markCollected();
+        assertNotSame(row, view.galaxyRow(goodEgg, 0, false));
+        assertTrue(view.galaxyRow(goodEgg, 0, false).plainText().contains("★ 1 / "));
+        assertSame(locked, view.galaxyRow(honeyhive, 1, false));
+        view.close();
+    }
+
+    @Test void backgroundSaveUsesSnapshot(@TempDir Path tempDir) throws StorageException {
+        var storage = new JsonStorageService(tempDir);
+        progress.getStarProgress("good-egg-snack").markCollected();
+        var snapshot = player.snapshot();
+
+        // changes after the snapshot don't leak into it
+        progress.getStarProgress("good-egg-kaliente").markCollected();
+        assertEquals(1, snapshot.getGameProgress(smg.getId()).getCollectedCount());
+
+        try (var saver = new BackgroundSaver(storage)) {
+            saver.save(snapshot);
+            saver.flush();
+        }
+        var loaded = storage.loadProfile(player.getPlayerId());
+        assertTrue(loaded.getGameProgress(smg.getId()).isStarCollected("good-egg-snack"));
+        assertFalse(loaded.getGameProgress(smg.getId()).isStarCollected("good-egg-kaliente"));
+    }
+
+    @Test void toastSweepsInThenExpires() {
+        var buffer = new ScreenBuffer();
+        var toast = new Toast("", 1000, "hi");
+
+        // a border line either side of the text, nothing once it's expired
+        assertTrue(toast.draw(buffer, 0));
+        assertEquals(3, buffer.size());
+        buffer.clear();
+        assertTrue(toast.draw(buffer, 500));
+        assertEquals(3, buffer.size());
+        buffer.clear();
+        assertFalse(toast.draw(buffer, 1000));
+        assertEquals(0, buffer.size());
+
+        var animator = new Animator();
+        animator.start((out, elapsed) -> false);
+        assertTrue(animator.isAnimating());
+        animator.draw(buffer);
+        assertFalse(animator.isAnimating());
+    }
+
+    @Test void headlessRunRecordsFrames(@TempDir Path tempDir) throws Exception {
+        var frames = HeadlessRun.run(smg, player, new JsonStorageService(tempDir), 100, 40, "down up enter b");
+
+        // the menu, one frame per key after it
+        assertEquals(5, frames.size());
+        assertEquals("★ THE COMPLETIONIST ★", frames.get(0).getLines().get(0));
+        assertTrue(frames.get(0).getBytes() > 0);
+        // moving the cursor only rewrites the rows that changed
+        assertTrue(frames.get(1).getBytes() < frames.get(0).getBytes() / 4);
+        assertEquals(frames.get(0).text(), frames.get(2).text());
+        assertEquals(frames.get(0).text(), frames.get(4).text());
+    }
+
+    @Test void histogramPercentiles() {
+        var h = Metrics.histogram("test.latency");
+        h.reset();
+        for (long v = 1; v <= 1000; v++) {
+            h.record(v * 1000); // 1us .. 1ms
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(1_000_000, h.getMax());
+        // buckets are within ~6% of the real value
+        assertEquals(500_000, h.percentile(50), 500_000 * 0.07);
+        assertEquals(990_000, h.percentile(99), 990_000 * 0.07);
+
+        // off, nothing gets timed
+        Metrics.setEnabled(false);
+        h.recordSince(Metrics.start());
+        assertEquals(1000, h.getCount());
+    }
+
+    // -- allocation budgets --
+    // bytes this thread allocates per operation, after a warm-up so the
+    // jit has settled. a budget failing means something started copying
+    // or formatting on a path that runs per row or per frame
+
+    private static long allocatedPerOp(int ops, Runnable op) {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < ops; i++) {
+            op.run(); // warm-up
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ops; i++) {
+            op.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ops;
+    }
+
+    private static long allocated(ThreadMXBean threads, long[] ids) {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(ids)) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    private static long threadId(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name)) {
+                return thread.getId();
+            }
+        }
+        throw new IllegalStateException("No " + name + " thread");
+    }
+
+    private void collectEverything() {
+        for (Dome dome : smg.getDomes()) {
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                for (Star star : galaxy.getStars()) {
+                    progress.getStarProgress(star.getId()).markCollected();
+                    progress.getStarProgress("luigi-" + star.getId()).markCollected();
+                }
+            }
+        }
+    }
+
+    @Test void allocationBudgetUnlockSweep() {
+        collectEverything();
+
+        // the sweep the ui and the api run after a collect, both modes - what
+        // it reveals is hidden again so every call does the reveal step too
+        long sweep = allocatedPerOp(200, () -> {
+            for (CharacterMode mode : CharacterMode.values()) {
+                for (UnlockSweep.Unlock unlock : UnlockSweep.run(smg, player, progress, mode)) {
+                    if (unlock.getKind() == UnlockSweep.Unlock.Kind.STAR) {
+                        progress.getStarProgress(mode.getStarPrefix() + unlock.getStar().getId()).setRevealed(false);
+                    }
+                }
+            }
+        });
+        long counts = allocatedPerOp(2000, () -> {
+            player.getMarioStarCount(progress);
+            player.getLuigiStarCount(progress);
+            progress.getCollectedCount();
+        });
+        // these copied the whole progress map per call (25 KB / 21 KB) - the
+        // two sweeps are ~20 KB now, most of it the 62 reveals
+        assertTrue(sweep < 32 * 1024, "unlock sweep allocated " + sweep + " bytes");
+        assertTrue(counts < 1024, "star counts allocated " + counts + " bytes");
+    }
+
+    @Test void allocationBudgetRedrawAndToggle() {
+        var view = new ProgressView(player, smg, progress);
+        Galaxy goodEgg = smg.getDomeById("terrace").getGalaxyById("good-egg");
+        Star star = goodEgg.getStars().get(0);
+
+        // a cached row asked for again, like every redraw does
+        long redraw = allocatedPerOp(2000, () -> {
+            view.galaxyRow(goodEgg, 0, false);
+            view.galaxyRow(goodEgg, 0, true);
+            view.starRowLines(star);
+        });
+        // toggling a star drops and rebuilds the rows it touches
+        long toggle = allocatedPerOp(500, () -> {
+            var sp = progress.getStarProgress(star.getId());
+            if (sp.isCollected()) {
+                sp.markUncollected();
+            } else {
+                sp.markCollected();
+            }
+            view.galaxyRow(goodEgg, 0, false);
+            view.starRowLines(star);
+        });
+        view.close();
+        assertTrue(redraw < 64, "cached rows allocated " + redraw + " bytes");
+        assertTrue(toggle < 16 * 1024, "toggle allocated " + toggle + " bytes");
+    }
+
+    @Test void allocationBudgetSave(@TempDir Path tempDir) throws StorageException {
+        collectEverything();
+        var storage = new JsonStorageService(tempDir);
+        long save = allocatedPerOp(50, () -> {
+            try {
+                storage.saveProfile(player);
+            } catch (StorageException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(save < 1024 * 1024, "save allocated " + save + " bytes");
+    }
+
+    @Test void allocationBudgetNavigation(@TempDir Path tempDir) throws Exception {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var storage = new JsonStorageService(tempDir);
+        HeadlessRun.run(smg, player, storage, 120, 40, "down*20 enter down*20 b"); // warm-up
+
+        // the ui runs on this thread and frames are drawn on the renderer's
+        // (one per key - the headless typist waits for each), so the
+        // difference between a short and a long script is what the extra
+        // keys and their frames cost
+        long[] ui = {Thread.currentThread().getId(), threadId("renderer")};
+        long before = allocated(threads, ui);
+        HeadlessRun.run(smg, player, storage, 120, 40, "down*10 enter down*10 b");
+        long shortRun = allocated(threads, ui) - before;
+        before = allocated(threads, ui);
+        HeadlessRun.run(smg, player, storage, 120, 40, "down*40 enter down*40 b");
+        long longRun = allocated(threads, ui) - before;
+        long perKey = (longRun - shortRun) / 60;
+        assertTrue(perKey < 16 * 1024, "a key and its frame allocated " + perKey + " bytes");
+    }
+
+    @Test void loadGeneratorReplaysAgainstStorage(@TempDir Path tempDir) throws Exception {
+        var fleet = new ProfileGenerator(smg, 7).generate(40);
+        for (PlayerProfile generated : fleet) {
+            GameProgress gp = generated.getGameProgress(smg.getId());
+            if (generated.getLuigiStarCount(gp) > 0) {
+                assertTrue(generated.getMarioStarCount(gp) >= 120, generated.getPlayerId() + " has luigi stars too early");
+            }
+        }
+
+        var generator = new LoadGenerator(new JsonStorageService(tempDir), smg);
+        assertEquals(40, generator.seed(fleet).getSaves().getCount());
+        var report = generator.replay(fleet, 500, 0.1, 0.1, 3, 7);
+        assertEquals(500, report.getOperations());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getSaves().getCount() > 0 && report.getLoads().getCount() > 0);
+    }
+
+    @Test void apiServerReadsAndUpdatesProgress(@TempDir Path tempDir) throws Exception {
+        var storage = new JsonStorageService(tempDir);
+        storage.saveProfile(new PlayerProfile("api-test", "Api"));
+        var server = new ApiServer(smg, storage, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        try {
+            var client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort() + "/api/profiles";
+            var ok = HttpResponse.BodyHandlers.ofString();
+
+            var update = client.send(post(base + "/api-test/stars/good-egg-dino-piranha",
+                "{\"collected\": true, \"note\": \"tail\", \"rating\": 2}"), ok);
+            assertEquals(200, update.statusCode(), update.body());
+            assertTrue(update.body().contains("\"collected\":true"));
+            server.flush();
+            assertTrue(storage.loadProfile("api-test").getGameProgress(smg.getId()).isStarCollected("good-egg-dino-piranha"));
+
+            var galaxy = client.send(get(base + "/api-test/galaxies/good-egg"), ok);
+            assertTrue(galaxy.body().contains("\"note\":\"tail\""), galaxy.body());
+            var domes = client.send(get(base + "/api-test/domes"), ok);
+            assertTrue(domes.body().contains("\"collected\":1"), domes.body());
+
+            assertEquals(404, client.send(get(base + "/nobody"), ok).statusCode());
+            assertEquals(400, client.send(post(base + "/api-test/stars/good-egg-snack", "{\"rating\": 9}"), ok).statusCode());
+
+            // a batch with one bad entry changes nothing, a good one goes in whole
+            String batch = "[{\"star\": \"good-egg-snack\", \"collected\": true}, {\"star\": \"good-egg-kaliente\", \"rating\": %s}]";
+            assertEquals(400, client.send(post(base + "/api-test/stars", String.format(batch, "0")), ok).statusCode());
+            var applied = client.send(post(base + "/api-test/stars", String.format(batch, "4")), ok);
+            assertEquals(200, applied.statusCode(), applied.body());
+            assertTrue(applied.body().contains("{\"star\":\"good-egg-kaliente\",\"change\":\"rating\"}"), applied.body());
+            server.flush();
+            assertEquals(2, storage.loadProfile("api-test").getTotalStarsCollected());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test void profileCacheKeepsConcurrentChangesApart(@TempDir Path tempDir) throws Exception {
+        var storage = new JsonStorageService(tempDir);
+        var cache = new ProfileCache(storage, 2);
+        for (int p = 0; p < 8; p++) {
+            cache.add(new PlayerProfile("cache-" + p, "Cache " + p));
+        }
+        String[] stars = {"good-egg-dino-piranha", "good-egg-snack", "good-egg-kaliente"};
+
+        // 4 threads per profile, each collects the stars once - nothing lost, nothing doubled
+        var threads = new ArrayList<Thread>();
+        var failures = new AtomicInteger();
+        for (int t = 0; t < 32; t++) {
+            String playerId = "cache-" + (t % 8);
+            String starId = stars[t % stars.length];
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        cache.update(playerId, live -> {
+                            var sp = live.getOrCreateGameProgress(smg.getId()).getStarProgress(starId);
+                            if (!sp.isCollected()) {
+                                sp.markCollected();
+                            }
+                            return null;
+                        });
+                        cache.read(playerId).getTotalStarsCollected(); // snapshot, no lock
+                    }
+                } catch (StorageException e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        cache.close();
+
+        assertEquals(0, failures.get());
+        for (int p = 0; p < 8; p++) {
+            assertEquals(3, cache.read("cache-" + p).getTotalStarsCollected());
+            assertEquals(3, storage.loadProfile("cache-" + p).getTotalStarsCollected());
+        }
+
+        // a change that throws isn't published or saved until something else is
+        var failing = new ProfileCache(storage, 1);
+        assertThrows(IllegalStateException.class, () -> failing.update("cache-0", live -> {
+            live.getOrCreateGameProgress(smg.getId()).getStarProgress("good-egg-luigi").markCollected();
+            throw new IllegalStateException("rejected");
+        }));
+        failing.flush();
+        assertEquals(3, failing.read("cache-0").getTotalStarsCollected());
+        assertEquals(3, storage.loadProfile("cache-0").getTotalStarsCollected());
+        failing.close();
+        assertEquals(4, storage.loadProfile("cache-0").getTotalStarsCollected());
+
+        // idle profiles are dropped once saved, and come back from disk as they were
+        var idle = new ProfileCache(storage, 1, profile -> { }, Duration.ofMillis(20));
+        idle.update("cache-1", live -> {
+            live.getOrCreateGameProgress(smg.getId()).getStarProgress("good-egg-luigi").markCollected();
+            return null;
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (idle.isCached("cache-1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(idle.isCached("cache-1"));
+        assertEquals(4, idle.read("cache-1").getTotalStarsCollected());
+        idle.close();
+    }
+
+    @Test void progressTransactionAppliesAllOrNothing() {
+        PlayerProfile player = new PlayerProfile("tx-test", "Tx");
+        GameProgress gp = player.getOrCreateGameProgress(smg.getId());
+        String[] stars = {"good-egg-dino-piranha", "good-egg-snack", "good-egg-kaliente"};
+
+        // bad input anywhere in the batch - nothing goes in
+        assertThrows(IllegalArgumentException.class, () -> gp.begin().collect(stars[0]).rating(stars[1], 6));
+        var unknown = gp.begin().collect(stars[0]).collect("no-such-star");
+        assertThrows(IllegalArgumentException.class, () -> unknown.commit(smg, player, CharacterMode.MARIO));
+        assertEquals(0, gp.getCollectedCount());
+
+        // listeners only hear once everything is in
+        var heard = new ArrayList<Integer>();
+        gp.addListener(starId -> heard.add(gp.getCollectedCount()));
+        var batch = gp.begin();
+        for (String star : stars) {
+            batch.collect(star);
+        }
+        var result = batch.rating(stars[0], 3).collect(stars[0]).commit(smg, player, CharacterMode.MARIO);
+        assertEquals(4, result.getChanges().size());
+        assertEquals(StarChange.RATING, result.getChanges().get(1).getKind());
+        assertEquals(List.of(3, 3, 3, 3), heard);
+
+        // nothing new - no changes
+        assertTrue(gp.begin().collect(stars[1]).commit().isEmpty());
+    }
+
+    @Test void profileStatsFollowSavesAndDeletes(@TempDir Path tempDir) throws Exception {
+        var stats = new ProfileStats(smg);
+        var storage = new StatsStorageService(new JsonStorageService(tempDir), stats);
+        String[] stars = {"good-egg-dino-piranha", "good-egg-snack", "good-egg-kaliente"};
+        for (int p = 0; p < 3; p++) {
+            PlayerProfile player = new PlayerProfile("stats-" + p, "Stats " + p);
+            GameProgress gp = player.getOrCreateGameProgress(smg.getId());
+            for (int i = 0; i <= p; i++) {
+                gp.getStarProgress(stars[i]).markCollected();
+            }
+            storage.saveProfile(player);
+        }
+        var total = ProfileStats.Board.TOTAL;
+        assertEquals("stats-2", stats.top(total, 1).get(0).getPlayerId());
+        assertEquals(1.0, stats.getCollectionRate("good-egg-dino-piranha"));
+        assertEquals(1 / 3.0, stats.getCollectionRate("good-egg-kaliente"), 1e-9);
+
+        // a save replaces that profile's numbers, a delete takes them out
+        PlayerProfile first = storage.loadProfile("stats-0");
+        first.getGameProgress(smg.getId()).getStarProgress(stars[0]).markUncollected();
+        storage.saveProfile(first);
+        storage.deleteProfile("stats-2");
+        var top = stats.top(total, 5);
+        assertEquals(2, top.size());
+        assertEquals("stats-1", top.get(0).getPlayerId());
+        assertEquals(0, top.get(1).getScore());
+        assertEquals(0.5, stats.getCollectionRate("good-egg-dino-piranha"));
+        assertEquals(0.0, stats.getCollectionRate("good-egg-kaliente"));
+        assertEquals(0, stats.getBoardSize(ProfileStats.Board.TIME_TO_COMPLETE));
+
+        // seeding skips what saves already covered
+        var fresh = new ProfileStats(smg);
+        new StatsStorageService(new JsonStorageService(tempDir), fresh).seed();
+        assertEquals(2, fresh.getProfileCount());
+
+        // a profile read by the seeding pass but deleted before it lands stays gone
+        var racing = new ProfileStats(smg);
+        racing.remove("stats-0");
+        racing.seed(first);
+        assertEquals(0, racing.getProfileCount());
+    }
+
+    @Test void progressEventsStreamAndResume(@TempDir Path tempDir) throws Exception {
+        var storage = new JsonStorageService(tempDir);
+        storage.saveProfile(new PlayerProfile("sse-test", "Sse"));
+        var server = new ApiServer(smg, storage, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        try {
+            var client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort() + "/api/profiles/sse-test";
+            var stream = client.send(get(base + "/events"), HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, stream.statusCode());
+            var lines = stream.body().iterator();
+
+            client.send(post(base + "/stars/good-egg-snack", "{\"collected\": true}"), HttpResponse.BodyHandlers.ofString());
+            // a lost event fails here instead of hanging the run
+            String id = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                String lastId = null;
+                while (lines.hasNext()) {
+                    String line = lines.next();
+                    if (line.startsWith("id: ")) {
+                        lastId = line.substring(4);
+                    } else if (line.equals("event: collected")) {
+                        assertTrue(lines.next().contains("\"starId\":\"good-egg-snack\""));
+                        return lastId;
+                    }
+                }
+                return null;
+            });
+            assertNotNull(id);
+        } finally {
+            server.stop();
+        }
+
+        // resuming replays only what came after, and a stale id is flagged
+        var bus = new EventBus();
+        var gp = new GameProgress(smg.getId());
+        bus.attach("p", gp);
+        gp.getStarProgress("a").markCollected();
+        try (var first = bus.subscribe("p", 0, 4)) {
+            gp.getStarProgress("b").setNote("hi");
+            var event = first.poll(1, TimeUnit.SECONDS);
+            assertEquals("note", event.getType());
+            try (var resumed = bus.subscribe("p", event.getId() - 1, 4)) {
+                assertEquals(event.getId(), resumed.poll(1, TimeUnit.SECONDS).getId());
+                assertFalse(resumed.hasMissedEvents());
+            }
+        }
+        for (int i = 0; i < 300; i++) {
+            gp.getStarProgress("c").setDifficultyRating(1 + i % 5);
+        }
+        try (var stale = bus.subscribe("p", 1, 4)) {
+            assertTrue(stale.hasMissedEvents());
+        }
+    }
+
+    // requests for the api server tests
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
 }
@@ -0,0 +1,63 @@
+package com.completionist.bench;
+
+import com.completionist.model.Game;
+import com.completionist.model.GameFactory;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// building the game, finding stars and counting progress
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+    @Param({"0", "60", "248"})
+    public int collected;
+
+    private Game game;
+    private GameProgress progress;
+    private String firstStar;
+    private String lastStar;
+
+    @Setup
+    public void setUp() {
+        game = GameFactory.createSuperMarioGalaxy();
+        progress = Profiles.withCollected(game, collected).getGameProgress(game.getId());
+        var ids = Profiles.allStarIds(game);
+        firstStar = ids.get(0);
+        // last mario star - the lookup walks every galaxy before it
+        lastStar = ids.get(ids.size() / 2 - 1);
+    }
+
+    @Benchmark
+    public Game createSuperMarioGalaxy() {
+        return GameFactory.createSuperMarioGalaxy();
+    }
+
+    @Benchmark
+    public Star findFirstStar() {
+        return game.findStarById(firstStar);
+    }
+
+    @Benchmark
+    public Star findLastStar() {
+        return game.findStarById(lastStar);
+    }
+
+    @Benchmark
+    public Star findMissingStar() {
+        return game.findStarById("no-such-star");
+    }
+
+    @Benchmark
+    public int collectedCount() {
+        return progress.getCollectedCount();
+    }
+
+    @Benchmark
+    public int gameCompletedItems() {
+        return game.getCompletedItems(progress);
+    }
+}
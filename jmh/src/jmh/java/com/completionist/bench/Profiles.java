@@ -0,0 +1,51 @@
+package com.completionist.bench;
+
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Dome;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.Star;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.StarProgress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// test profiles of a given size for the benchmarks
+final class Profiles {
+    private Profiles() {
+    }
+
+    // every star id in the game, mario ones first then the luigi- ones
+    static List<String> allStarIds(Game game) {
+        List<String> ids = new ArrayList<>();
+        for (CharacterMode mode : CharacterMode.values()) {
+            for (Dome dome : game.getDomes()) {
+                for (Galaxy galaxy : dome.getGalaxies()) {
+                    for (Star star : galaxy.getStars()) {
+                        ids.add(mode.getStarPrefix() + star.getId());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    // a profile with the first stars collected - every 4th one has a note
+    // and a difficulty too, like a real save
+    static PlayerProfile withCollected(Game game, int collected) {
+        PlayerProfile player = new PlayerProfile("bench-" + collected, "Bench");
+        GameProgress progress = player.getOrCreateGameProgress(game.getId());
+        List<String> ids = allStarIds(game);
+        for (int i = 0; i < Math.min(collected, ids.size()); i++) {
+            StarProgress star = progress.getStarProgress(ids.get(i));
+            star.markCollected();
+            if (i % 4 == 0) {
+                star.setNote("route note for " + ids.get(i));
+                star.setDifficultyRating(1 + i % 5);
+            }
+        }
+        return player;
+    }
+}
@@ -0,0 +1,56 @@
+package com.completionist.bench;
+
+import com.completionist.model.Game;
+import com.completionist.model.GameFactory;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.storage.JsonStorageService;
+import com.completionist.storage.StorageException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// saving and loading a profile as json, empty up to 100%
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+    @Param({"0", "60", "248"})
+    public int collected;
+
+    private Path dir;
+    private JsonStorageService storage;
+    private PlayerProfile player;
+
+    @Setup
+    public void setUp() throws IOException, StorageException {
+        dir = Files.createTempDirectory("completionist-jmh");
+        storage = new JsonStorageService(dir);
+        Game game = GameFactory.createSuperMarioGalaxy();
+        player = Profiles.withCollected(game, collected);
+        storage.saveProfile(player); // so load has something to read
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void save() throws StorageException {
+        storage.saveProfile(player);
+    }
+
+    @Benchmark
+    public PlayerProfile load() throws StorageException {
+        return storage.loadProfile(player.getPlayerId());
+    }
+}
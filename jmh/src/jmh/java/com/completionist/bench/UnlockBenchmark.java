@@ -0,0 +1,141 @@
+package com.completionist.bench;
+
+import com.completionist.model.AllMainStarsInGalaxyCondition;
+import com.completionist.model.AnyStarCollectedCondition;
+import com.completionist.model.CharacterMode;
+import com.completionist.model.Dome;
+import com.completionist.model.Galaxy;
+import com.completionist.model.Game;
+import com.completionist.model.GameFactory;
+import com.completionist.model.Star;
+import com.completionist.model.UnlockCondition;
+import com.completionist.progress.GameProgress;
+import com.completionist.progress.PlayerProfile;
+import com.completionist.progress.UnlockSweep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// unlock conditions - one isMet of each kind, and the sweep that runs
+// after every collected star (UnlockSweep.run)
+@State(Scope.Benchmark)
+public class UnlockBenchmark {
+    @Param({"0", "120", "248"})
+    public int collected;
+
+    @Param({
+        "TotalStarsCondition",
+        "CometUnlockCondition",
+        "PurpleCometUnlockCondition",
+        "GreenStarsUnlockCondition",
+        "GrandFinaleUnlockCondition",
+        "AllMainStarsInGalaxyCondition",
+        "AnyStarCollectedCondition"
+    })
+    public String condition;
+
+    private GameProgress progress;
+    private UnlockCondition single;
+
+    @Setup
+    public void setUp() {
+        Game game = GameFactory.createSuperMarioGalaxy();
+        progress = Profiles.withCollected(game, collected).getGameProgress(game.getId());
+        single = condition(game, condition);
+    }
+
+    @Benchmark
+    public boolean isMet() {
+        return single.isMet(progress);
+    }
+
+    // UnlockSweep.run, what the ui and the api do after a star is collected
+    // (star-count galaxies, then the stars with a condition, mode-aware) -
+    // only varies with the profile, so it has its own state
+    @State(Scope.Benchmark)
+    public static class Sweep {
+        @Param({"0", "120", "248"})
+        public int collected;
+
+        @Param({"MARIO", "LUIGI"})
+        public CharacterMode mode;
+
+        private Game game;
+        private PlayerProfile player;
+        private GameProgress progress;
+
+        @Setup
+        public void setUp() {
+            game = GameFactory.createSuperMarioGalaxy();
+            player = Profiles.withCollected(game, collected);
+            progress = player.getGameProgress(game.getId());
+        }
+
+        @Benchmark
+        public List<UnlockSweep.Unlock> fullSweep() {
+            List<UnlockSweep.Unlock> unlocks = UnlockSweep.run(game, player, progress, mode);
+            // hide what it revealed, so every call sweeps the same profile
+            for (UnlockSweep.Unlock unlock : unlocks) {
+                if (unlock.getKind() == UnlockSweep.Unlock.Kind.STAR) {
+                    progress.getStarProgress(mode.getStarPrefix() + unlock.getStar().getId()).setRevealed(false);
+                }
+            }
+            return unlocks;
+        }
+    }
+
+    // the first condition of this kind in the game - the catalog doesn't
+    // use the last two, so those are built over its last galaxy (the one
+    // a growing profile reaches last)
+    private static UnlockCondition condition(Game game, String kind) {
+        List<Dome> domes = game.getDomes();
+        List<Galaxy> galaxies = domes.get(domes.size() - 1).getGalaxies();
+        Galaxy last = galaxies.get(galaxies.size() - 1);
+        switch (kind) {
+            case "AllMainStarsInGalaxyCondition" -> {
+                return new AllMainStarsInGalaxyCondition(last);
+            }
+            case "AnyStarCollectedCondition" -> {
+                List<String> starIds = new ArrayList<>();
+                for (Star star : last.getStars()) {
+                    starIds.add(star.getId());
+                }
+                return new AnyStarCollectedCondition(starIds);
+            }
+            default -> {
+                for (UnlockCondition c : conditions(game)) {
+                    if (c.getClass().getSimpleName().equals(kind)) {
+                        return c;
+                    }
+                }
+                throw new IllegalArgumentException("No " + kind + " in the catalog");
+            }
+        }
+    }
+
+    // every condition in the game: domes, galaxies, stars
+    private static List<UnlockCondition> conditions(Game game) {
+        List<UnlockCondition> conditions = new ArrayList<>();
+        for (Dome dome : game.getDomes()) {
+            add(conditions, dome.getUnlockCondition());
+            for (Galaxy galaxy : dome.getGalaxies()) {
+                add(conditions, galaxy.getUnlockCondition());
+                for (Star star : galaxy.getStars()) {
+                    add(conditions, star.getUnlockCondition());
+                }
+            }
+        }
+        return conditions;
+    }
+
+    private static void add(List<UnlockCondition> conditions, UnlockCondition condition) {
+        if (condition != null) {
+            conditions.add(condition);
+        }
+    }
+}